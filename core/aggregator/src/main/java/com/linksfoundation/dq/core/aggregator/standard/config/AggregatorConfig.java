@@ -0,0 +1,16 @@
+package com.linksfoundation.dq.core.aggregator.standard.config;
+
+import com.linksfoundation.dq.core.aggregator.standard.join.JoinDataset;
+import com.linksfoundation.dq.core.aggregator.standard.window.WindowPlan;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The configuration of the aggregator compiled from its YAML file.
+ *
+ * @param datasets The datasets joined on their key, indexed by name.
+ * @param windows The time window aggregations.
+*/
+public record AggregatorConfig(Map<String, JoinDataset> datasets, List<WindowPlan> windows) {
+}
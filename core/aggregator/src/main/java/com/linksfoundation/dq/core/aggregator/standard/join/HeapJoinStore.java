@@ -0,0 +1,38 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * The join store kept on the heap: entries are changed in place and lost when the service stops.
+*/
+public class HeapJoinStore implements JoinStore {
+
+    private final ConcurrentMap<String, JoinEntry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public JoinEntry get(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public JoinEntry compute(String key, UnaryOperator<JoinEntry> update) {
+        return entries.compute(key, (k, entry) -> update.apply(entry));
+    }
+
+    @Override
+    public long size() {
+        return entries.size();
+    }
+
+    @Override
+    public Map<String, Integer> loadSlots() {
+        return Map.of();
+    }
+
+    @Override
+    public void saveSlot(String dataset, int slot) {
+    }
+}
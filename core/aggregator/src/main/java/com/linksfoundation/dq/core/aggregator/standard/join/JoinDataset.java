@@ -0,0 +1,66 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import com.linksfoundation.dq.core.aggregator.standard.exceptions.RuleBadFormatted;
+import com.linksfoundation.dq.core.aggregator.standard.schema.Dataset;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A dataset of the configuration compiled for the join, with the expiration of its samples already parsed.
+ *
+ * @param name The name of the dataset.
+ * @param key The feature holding the join key.
+ * @param ttl The time to live of the samples in milliseconds, or 0 if they never expire.
+ * @param maxEntries The maximum number of samples waiting to be joined, or 0 for no limit.
+ * @param maxBytes The maximum estimated size in bytes of the samples waiting to be joined, or 0 for no limit.
+*/
+public record JoinDataset(String name, String key, long ttl, int maxEntries, long maxBytes) {
+
+    /**
+     * Compiles the given dataset, parsing its expiration.
+     *
+     * @param dataset The dataset read from the configuration file.
+     * @return The compiled dataset.
+    */
+    public static JoinDataset compile(Dataset dataset) {
+        if (dataset.getMaxEntries() < 0 || dataset.getMaxBytes() < 0) {
+            throw new RuleBadFormatted("Limits of dataset %s are negative".formatted(dataset.getName()));
+        }
+
+        return new JoinDataset(dataset.getName(), dataset.getKey(), parseExpiration(dataset),
+                dataset.getMaxEntries(), dataset.getMaxBytes());
+    }
+
+    private static long parseExpiration(Dataset dataset) {
+        String expiration = dataset.getExpiration();
+        if (expiration == null || expiration.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            long ttl = Duration.parse("PT" + expiration.toUpperCase()).toMillis();
+            if (ttl <= 0) {
+                throw new RuleBadFormatted("Expiration %s of dataset %s is not positive".formatted(expiration, dataset.getName()));
+            }
+            return ttl;
+        } catch (DateTimeParseException e) {
+            throw new RuleBadFormatted("Expiration %s of dataset %s not recognized".formatted(expiration, dataset.getName()));
+        }
+    }
+
+    /**
+     * @param ts The timestamp of a sample of the dataset.
+     * @return The time after which the sample expires, or Long.MAX_VALUE if it never expires.
+    */
+    public long deadline(long ts) {
+        return ttl > 0 ? ts + ttl : JoinIndex.NEVER;
+    }
+
+    /**
+     * @return true if the samples of the dataset waiting to be joined are limited.
+    */
+    public boolean isBounded() {
+        return maxEntries > 0 || maxBytes > 0;
+    }
+}
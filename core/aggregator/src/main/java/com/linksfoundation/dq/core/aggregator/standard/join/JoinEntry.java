@@ -0,0 +1,35 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import com.linksfoundation.dq.api.model.Sample;
+
+import java.util.Arrays;
+
+/**
+ * The samples stored under a join key, one per slot, with their deadlines and the number of slots filled.
+ * Every slot also records the deadline of the expiration timer pending for it, if any, so that a slot refreshed by newer
+ * samples keeps a single timer that is moved forward when it fires, instead of a new timer per sample.
+ * An entry is only read and changed by the join index while it holds the entry's key in its store.
+*/
+public final class JoinEntry {
+    Sample[] samples;
+    long[] deadlines;
+    long[] armed;
+    int present;
+
+    JoinEntry(int size) {
+        this.samples = new Sample[size];
+        this.deadlines = new long[size];
+        this.armed = new long[size];
+        Arrays.fill(armed, JoinIndex.NEVER);
+    }
+
+    void grow(int size) {
+        if (size > samples.length) {
+            int length = samples.length;
+            samples = Arrays.copyOf(samples, size);
+            deadlines = Arrays.copyOf(deadlines, size);
+            armed = Arrays.copyOf(armed, size);
+            Arrays.fill(armed, length, size, JoinIndex.NEVER);
+        }
+    }
+}
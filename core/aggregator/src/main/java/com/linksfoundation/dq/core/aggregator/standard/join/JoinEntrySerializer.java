@@ -0,0 +1,51 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.aggregator.standard.serializer.ProtobufSerializer;
+
+import org.mapdb.DataInput2;
+import org.mapdb.DataOutput2;
+import org.mapdb.Serializer;
+import java.io.IOException;
+
+/**
+ * Serializer and Deserializer for the entries of the join index: the number of slots, then for every filled slot its
+ * position, its deadline, the deadline of its pending timer and its sample encoded as Protocol Buffer message.
+*/
+class JoinEntrySerializer implements Serializer<JoinEntry> {
+
+    private final ProtobufSerializer<Sample> samples = new ProtobufSerializer<>(Sample.parser());
+
+    @Override
+    public int fixedSize() {
+        return -1;
+    }
+
+    @Override
+    public void serialize(DataOutput2 out, JoinEntry value) throws IOException {
+        out.packInt(value.samples.length);
+        out.packInt(value.present);
+        for (int i = 0; i < value.samples.length; i++) {
+            if (value.samples[i] != null) {
+                out.packInt(i);
+                out.writeLong(value.deadlines[i]);
+                out.writeLong(value.armed[i]);
+                samples.serialize(out, value.samples[i]);
+            }
+        }
+    }
+
+    @Override
+    public JoinEntry deserialize(DataInput2 input, int available) throws IOException {
+        JoinEntry entry = new JoinEntry(input.unpackInt());
+        int present = input.unpackInt();
+        for (int n = 0; n < present; n++) {
+            int slot = input.unpackInt();
+            entry.deadlines[slot] = input.readLong();
+            entry.armed[slot] = input.readLong();
+            entry.samples[slot] = samples.deserialize(input, -1);
+        }
+        entry.present = present;
+        return entry;
+    }
+}
@@ -0,0 +1,324 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import com.linksfoundation.dq.api.model.Sample;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * This class indexes the samples waiting to be joined by their join key.
+ * Every join key maps to a fixed array of slots, one per dataset, holding the last sample of that dataset with that key,
+ * so the partners of a new sample are found with a single lookup instead of probing the map of every dataset.
+ * Slots are assigned to datasets the first time they are seen and never reused, so the entries stay valid across
+ * configuration reloads and restarts; slots of datasets removed from the configuration are simply left empty.
+ * Samples expire through the timers of the store, a timing wheel for the heap or a B-tree in the file of a durable store,
+ * so expiring them only touches the slots that are actually due instead of sweeping the whole index; a timer only
+ * references the join key and the slot, so a replaced sample is released at once.
+ * A slot has a single timer while it is refreshed by newer samples: when the timer fires before the deadline of the
+ * current sample it is scheduled again at that deadline, so the timers grow with the keys and not with the samples.
+ * The samples of a dataset with limits are tracked by a {@link SegmentedLru}, and the victims it chooses are evicted
+ * right after the sample that exceeded the limits is stored, and handed to the eviction listener.
+ * Entries are kept in a {@link JoinStore} and only changed inside its atomic updates, so the index can be updated and
+ * expired from different threads.
+*/
+public class JoinIndex implements MeterBinder {
+
+    public static final long NEVER = Long.MAX_VALUE;
+    public static final long DEFAULT_TICK = 1000;
+
+    private final ConcurrentMap<String, Integer> slots = new ConcurrentHashMap<>();
+    private final JoinStore store;
+    private final TimerQueue timers;
+    private final BiConsumer<String, Sample> evicted;
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+    private volatile SegmentedLru[] policies = new SegmentedLru[0];
+    private MeterRegistry registry;
+
+    public JoinIndex() {
+        this(new HeapJoinStore(), DEFAULT_TICK, null);
+    }
+
+    /**
+     * Creates the index over the given store. The entries already in a durable store expire through the timers recovered with them.
+     * Recovered samples are not counted in the limits of their dataset, as the limits are only known at the first new sample.
+     *
+     * @param store The store of the entries.
+     * @param tick The granularity of the expiration in milliseconds: samples are removed at most a tick after their deadline.
+     * @param evicted The listener receiving the join key and the sample of every eviction, or null.
+    */
+    public JoinIndex(JoinStore store, long tick, BiConsumer<String, Sample> evicted) {
+        this.store = store;
+        this.timers = store.timers(tick);
+        this.evicted = evicted;
+        this.slots.putAll(store.loadSlots());
+    }
+
+    /**
+     * Returns the slot of the given dataset, assigning the next free one if the dataset has never been seen.
+     *
+     * @param dataset The name of the dataset.
+     * @return The slot of the dataset.
+    */
+    public int slot(String dataset) {
+        Integer slot = slots.get(dataset);
+        if (slot != null) {
+            return slot;
+        }
+
+        synchronized (slots) {
+            return slots.computeIfAbsent(dataset, d -> {
+                int next = slots.size();
+                store.saveSlot(d, next);
+                return next;
+            });
+        }
+    }
+
+    /**
+     * Stores the sample in the slot of its dataset under the given join key, replacing the previous one.
+     * If the dataset is bounded and the sample exceeds its limits, the victims are evicted before returning.
+     *
+     * @param dataset The dataset of the sample.
+     * @param key The join key of the sample.
+     * @param sample The sample to store.
+     * @return A copy of the slots of the join key after the update, or null if the sample is the only one stored under it.
+    */
+    public Sample[] put(JoinDataset dataset, String key, Sample sample) {
+        int slot = this.slot(dataset.name());
+        long deadline = dataset.deadline(sample.getTs());
+        SegmentedLru policy = this.policy(slot, dataset.isBounded());
+
+        Sample[][] joined = new Sample[1][];
+        List<String> victims = new ArrayList<>(0);
+        boolean[] arm = new boolean[1];
+        store.compute(key, entry -> {
+            if (entry == null) {
+                entry = new JoinEntry(Math.max(slot + 1, slots.size()));
+            } else {
+                entry.grow(Math.max(slot + 1, slots.size()));
+            }
+
+            if (entry.samples[slot] == null) {
+                entry.present++;
+            }
+            entry.samples[slot] = sample;
+            entry.deadlines[slot] = deadline;
+            if (deadline < entry.armed[slot]) {
+                // no timer is pending or it would fire too late: the previous one, if any, is dropped when it fires
+                entry.armed[slot] = deadline;
+                arm[0] = true;
+            }
+
+            if (policy != null) {
+                victims.addAll(policy.admit(key, sample.getSerializedSize(), dataset.maxEntries(), dataset.maxBytes()));
+            }
+            if (entry.present > 1) {
+                joined[0] = entry.samples.clone();
+                this.touchPartners(key, slot, joined[0]);
+            }
+            return entry;
+        });
+
+        if (arm[0]) {
+            timers.schedule(new TimerQueue.Timer(key, slot, deadline));
+        }
+        for (String victim : victims) {
+            this.evict(slot, victim, policy);
+        }
+
+        (joined[0] != null ? this.joined : this.pending).increment();
+        return joined[0];
+    }
+
+    /**
+     * Removes the samples whose deadline is before the given time.
+     *
+     * @param now The current time in milliseconds.
+     * @return The number of samples removed.
+    */
+    public int expire(long now) {
+        return timers.advance(now, this::expire);
+    }
+
+    private boolean expire(TimerQueue.Timer timer) {
+        if (!isArmed(store.get(timer.key()), timer)) {
+            return false;
+        }
+
+        int slot = timer.slot();
+        boolean[] removed = new boolean[1];
+        long[] rescheduled = {NEVER};
+        store.compute(timer.key(), entry -> {
+            if (entry == null || !isArmed(entry, timer)) {
+                return entry;
+            }
+
+            entry.armed[slot] = NEVER;
+            if (entry.samples[slot] == null) {
+                return entry.present == 0 ? null : entry;
+            }
+
+            if (entry.deadlines[slot] <= timer.deadline()) {
+                entry.samples[slot] = null;
+                entry.present--;
+                removed[0] = true;
+
+                SegmentedLru policy = this.policy(slot, false);
+                if (policy != null) {
+                    policy.remove(timer.key());
+                }
+            } else if (entry.deadlines[slot] != NEVER) {
+                // the slot has been refreshed since the timer was scheduled: move the timer to the new deadline
+                entry.armed[slot] = entry.deadlines[slot];
+                rescheduled[0] = entry.deadlines[slot];
+            }
+            return entry.present == 0 ? null : entry;
+        });
+
+        if (rescheduled[0] != NEVER) {
+            timers.schedule(new TimerQueue.Timer(timer.key(), slot, rescheduled[0]));
+        }
+        return removed[0];
+    }
+
+    /**
+     * A timer is armed if it is the one recorded by its slot; any other timer is left over from a removed entry and is dropped.
+    */
+    private static boolean isArmed(JoinEntry entry, TimerQueue.Timer timer) {
+        int slot = timer.slot();
+        return entry != null && slot < entry.armed.length && entry.armed[slot] == timer.deadline();
+    }
+
+    /**
+     * @return The number of expiration timers pending.
+    */
+    int timers() {
+        return timers.size();
+    }
+
+    /**
+     * Removes the sample of a victim chosen by the policy of its dataset.
+     * If a new sample has been stored under the join key since the victim was chosen, the policy tracks it again and it is kept.
+    */
+    private void evict(int slot, String key, SegmentedLru policy) {
+        Sample[] removed = new Sample[1];
+        store.compute(key, entry -> {
+            if (entry == null) {
+                return null;
+            }
+
+            if (slot < entry.samples.length && entry.samples[slot] != null && !policy.contains(key)) {
+                removed[0] = entry.samples[slot];
+                entry.samples[slot] = null;
+                entry.present--;
+            }
+            return entry.present == 0 ? null : entry;
+        });
+
+        if (removed[0] != null && evicted != null) {
+            evicted.accept(key, removed[0]);
+        }
+    }
+
+    private void touchPartners(String key, int slot, Sample[] partners) {
+        SegmentedLru[] current = policies;
+        for (int i = 0; i < partners.length && i < current.length; i++) {
+            if (i != slot && partners[i] != null && current[i] != null) {
+                current[i].touch(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the policy of a slot, creating it if the dataset is bounded.
+     * Once created, the policy of a dataset keeps tracking its samples even if its limits are removed by a reload.
+    */
+    private SegmentedLru policy(int slot, boolean bounded) {
+        SegmentedLru[] current = policies;
+        if (slot < current.length && current[slot] != null) {
+            return current[slot];
+        }
+        if (!bounded) {
+            return null;
+        }
+
+        synchronized (this) {
+            current = policies;
+            if (slot < current.length && current[slot] != null) {
+                return current[slot];
+            }
+
+            SegmentedLru policy = new SegmentedLru();
+            SegmentedLru[] grown = Arrays.copyOf(current, Math.max(current.length, slot + 1));
+            grown[slot] = policy;
+            policies = grown;
+            if (registry != null) {
+                this.bindPolicy(registry, slot, policy);
+            }
+            return policy;
+        }
+    }
+
+    /**
+     * @return The number of join keys with at least one sample stored.
+    */
+    public long size() {
+        return store.size();
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("dq.aggregator.join.keys", this, JoinIndex::size)
+                .description("Number of join keys with at least one sample waiting to be joined")
+                .register(registry);
+        FunctionCounter.builder("dq.aggregator.join.samples", joined, LongAdder::sum)
+                .description("Number of samples stored in the index, by whether they found a partner")
+                .tag("result", "joined")
+                .register(registry);
+        FunctionCounter.builder("dq.aggregator.join.samples", pending, LongAdder::sum)
+                .description("Number of samples stored in the index, by whether they found a partner")
+                .tag("result", "pending")
+                .register(registry);
+
+        SegmentedLru[] current = policies;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != null) {
+                this.bindPolicy(registry, i, current[i]);
+            }
+        }
+    }
+
+    private void bindPolicy(MeterRegistry registry, int slot, SegmentedLru policy) {
+        String dataset = slots.entrySet().stream()
+                .filter(e -> e.getValue() == slot)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(String.valueOf(slot));
+
+        Gauge.builder("dq.aggregator.join.entries", policy, SegmentedLru::size)
+                .description("Number of samples of a bounded dataset waiting to be joined")
+                .tag("dataset", dataset)
+                .register(registry);
+        Gauge.builder("dq.aggregator.join.bytes", policy, SegmentedLru::bytes)
+                .description("Estimated size of the samples of a bounded dataset waiting to be joined")
+                .tag("dataset", dataset)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("dq.aggregator.join.evictions", policy.getEvictions(), LongAdder::sum)
+                .description("Number of samples of a bounded dataset evicted before being joined or expired")
+                .tag("dataset", dataset)
+                .register(registry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * This interface represents the storage behind the join index: the entries by join key and the slots of the datasets.
+ * Implementations must apply the updates of the same key atomically, while updates of different keys may run in parallel.
+*/
+public interface JoinStore extends AutoCloseable {
+
+    /**
+     * The available implementations, selected with the STATE_BACKEND property.
+    */
+    enum Backend {
+        HEAP,
+        MAPDB
+    }
+
+    /**
+     * @param key The join key.
+     * @return The entry of the join key, or null if missing. It is only a hint, as it may be changed by a concurrent compute.
+    */
+    JoinEntry get(String key);
+
+    /**
+     * Atomically updates the entry of a join key.
+     *
+     * @param key The join key.
+     * @param update The function receiving the current entry, or null if missing, and returning the new entry, or null to remove it.
+     *               It may change the given entry in place, and it must return it if it does.
+     * @return The new entry, or null if it has been removed.
+    */
+    JoinEntry compute(String key, UnaryOperator<JoinEntry> update);
+
+    /**
+     * @return The number of join keys stored.
+    */
+    long size();
+
+    /**
+     * Returns the pending expirations of the entries. Stores that are not durable keep them in a timing wheel on the heap,
+     * while durable stores keep them along with the entries, so that they are recovered with them.
+     *
+     * @param tick The granularity of the expiration in milliseconds, for the stores that need one.
+     * @return The timers of the store.
+    */
+    default TimerQueue timers(long tick) {
+        return new TimerWheel(tick, TimerWheel.DEFAULT_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * @return The slots assigned to the datasets so far.
+    */
+    Map<String, Integer> loadSlots();
+
+    /**
+     * Records the slot assigned to a dataset.
+     *
+     * @param dataset The name of the dataset.
+     * @param slot The slot of the dataset.
+    */
+    void saveSlot(String dataset, int slot);
+
+    /**
+     * Makes the changes so far durable. Stores that are not durable do nothing.
+    */
+    default void commit() {
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,148 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.HTreeMap;
+import org.mapdb.Serializer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The join store kept in a memory-mapped MapDB file, so the pending samples survive a restart and are not limited by the heap.
+ * Every update is written through to the file, where the samples are encoded as Protocol Buffer messages; the most recently
+ * used entries are also kept on the heap, so that the keys being joined are not decoded again at every sample.
+ * The expiration timers are kept in the same file (see {@link MapDbTimerQueue}), so opening the store decodes no entry,
+ * and the heap only holds the cache and the tracking of the datasets with limits, whose size is bounded by the limits themselves.
+ * Changes are made durable by the periodic commit of the write-ahead log: a crash loses at most the changes since the last one.
+ * The file is never compacted, as the write-ahead log store of MapDB does not support it: the space of removed entries
+ * is reused by the new ones instead, so the file grows with the peak number of pending samples.
+ * Updates of the same key are serialized by a lock striped by key, which also guards the cache of that stripe.
+*/
+@Slf4j
+public class MapDbJoinStore implements JoinStore {
+
+    private static final int STRIPES = 64;
+
+    private final DB db;
+    private final HTreeMap<String, JoinEntry> entries;
+    private final HTreeMap<String, Integer> slots;
+    private final MapDbTimerQueue timers;
+    private final Object[] locks = new Object[STRIPES];
+    private final List<Map<String, JoinEntry>> cache;
+
+    /**
+     * Opens the store, recovering the entries already in the file.
+     *
+     * @param path The path of the file of the store, created if missing.
+     * @param cacheSize The number of entries kept on the heap, 0 to disable the cache.
+    */
+    public MapDbJoinStore(String path, int cacheSize) {
+        this.db = DBMaker.fileDB(path)
+                .fileMmapEnableIfSupported()
+                .transactionEnable()
+                .make();
+        this.entries = db.hashMap("entries", Serializer.STRING, new JoinEntrySerializer()).createOrOpen();
+        this.slots = db.hashMap("slots", Serializer.STRING, Serializer.INTEGER).createOrOpen();
+        this.timers = new MapDbTimerQueue(db, "timers");
+        this.cache = cacheSize > 0 ? new ArrayList<>(STRIPES) : null;
+
+        int stripeSize = Math.max(cacheSize / STRIPES, 1);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+            if (cache != null) {
+                cache.add(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, JoinEntry> eldest) {
+                        return size() > stripeSize;
+                    }
+                });
+            }
+        }
+        log.info("Join store {} opened with {} join keys", path, entries.sizeLong());
+    }
+
+    @Override
+    public JoinEntry get(String key) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            return this.load(stripe, key);
+        }
+    }
+
+    @Override
+    public JoinEntry compute(String key, UnaryOperator<JoinEntry> update) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            JoinEntry entry = this.load(stripe, key);
+            JoinEntry updated = update.apply(entry);
+            if (updated == null) {
+                if (entry != null) {
+                    entries.remove(key);
+                    if (cache != null) {
+                        cache.get(stripe).remove(key);
+                    }
+                }
+            } else {
+                entries.put(key, updated);
+                if (cache != null) {
+                    cache.get(stripe).put(key, updated);
+                }
+            }
+            return updated;
+        }
+    }
+
+    private JoinEntry load(int stripe, String key) {
+        JoinEntry entry = cache != null ? cache.get(stripe).get(key) : null;
+        if (entry == null) {
+            entry = entries.get(key);
+            if (entry != null && cache != null) {
+                cache.get(stripe).put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    @Override
+    public long size() {
+        return entries.sizeLong();
+    }
+
+    @Override
+    public TimerQueue timers(long tick) {
+        return timers;
+    }
+
+    @Override
+    public Map<String, Integer> loadSlots() {
+        return Map.copyOf(slots);
+    }
+
+    @Override
+    public void saveSlot(String dataset, int slot) {
+        slots.put(dataset, slot);
+        db.commit();
+    }
+
+    @Override
+    public void commit() {
+        db.commit();
+    }
+
+    @Override
+    public void close() {
+        db.commit();
+        db.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import org.mapdb.DB;
+import org.mapdb.Serializer;
+import org.mapdb.serializer.SerializerArrayTuple;
+
+import java.util.NavigableSet;
+import java.util.function.Predicate;
+
+/**
+ * The pending expirations of the join store kept in a MapDB file, as a B-tree of (deadline, join key, slot) tuples.
+ * The timers are written in the same transactions of the entries, so they are recovered with them after a restart,
+ * without decoding the entries, and they take no heap whatever the number of pending join keys.
+ * Advancing the queue removes the timers from the head of the tree until the first one that is not due yet.
+*/
+final class MapDbTimerQueue implements TimerQueue {
+
+    private final NavigableSet<Object[]> timers;
+
+    /**
+     * @param db The database of the join store.
+     * @param name The name of the timers in the database, created if missing.
+    */
+    MapDbTimerQueue(DB db, String name) {
+        this.timers = db.treeSet(name, new SerializerArrayTuple(Serializer.LONG, Serializer.STRING, Serializer.INTEGER))
+                .createOrOpen();
+    }
+
+    @Override
+    public void schedule(Timer timer) {
+        timers.add(new Object[]{timer.deadline(), timer.key(), timer.slot()});
+    }
+
+    @Override
+    public int size() {
+        return timers.size();
+    }
+
+    @Override
+    public synchronized int advance(long now, Predicate<Timer> expire) {
+        int fired = 0;
+        while (!timers.isEmpty()) {
+            Object[] first = timers.first();
+            long deadline = (Long) first[0];
+            if (deadline >= now) {
+                break;
+            }
+
+            timers.remove(first);
+            fired += expire.test(new Timer((String) first[1], (Integer) first[2], deadline)) ? 1 : 0;
+        }
+        return fired;
+    }
+}
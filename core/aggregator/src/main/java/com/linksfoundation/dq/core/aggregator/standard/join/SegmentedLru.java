@@ -0,0 +1,164 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class bounds the samples of a dataset stored in the join index, by number and by estimated size in bytes.
+ * It is a segmented LRU: a join key enters the probation segment, and it is promoted to the protected segment when it is
+ * used again, by a newer sample of the same dataset or by a join. Victims are taken from the least recently used end of
+ * the probation segment first, so samples that never found a partner are evicted before the ones that keep joining,
+ * and a burst of new keys cannot flush the keys that are joined repeatedly.
+ * The protected segment is bounded to a fraction of the limits, and its overflow goes back to probation.
+ * All the methods are guarded by the monitor of the instance, and they never call out of it.
+*/
+final class SegmentedLru {
+
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final LinkedHashMap<String, Integer> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Integer> protection = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder evictions = new LongAdder();
+    private long bytes;
+    private long protectedBytes;
+    private int maxEntries;
+    private long maxBytes;
+
+    /**
+     * Records a sample stored under a join key, and returns the join keys whose sample must be evicted to respect the limits.
+     * The given limits replace the previous ones, so that a configuration reload applies at the next sample.
+     *
+     * @param key The join key of the sample.
+     * @param size The estimated size of the sample in bytes.
+     * @param maxEntries The maximum number of samples, 0 for no limit.
+     * @param maxBytes The maximum estimated size of the samples in bytes, 0 for no limit.
+     * @return The join keys to evict, already forgotten by this policy.
+    */
+    synchronized List<String> admit(String key, int size, int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+
+        Integer previous = protection.get(key);
+        if (previous != null) {
+            protection.put(key, size);
+            protectedBytes += size - previous;
+            bytes += size - previous;
+        } else if ((previous = probation.remove(key)) != null) {
+            protection.put(key, size);
+            protectedBytes += size;
+            bytes += size - previous;
+        } else {
+            probation.put(key, size);
+            bytes += size;
+        }
+
+        this.rebalance();
+        return this.evict();
+    }
+
+    /**
+     * Records that the sample of a join key has been joined, promoting it to the protected segment.
+     *
+     * @param key The join key of the sample.
+    */
+    synchronized void touch(String key) {
+        if (protection.get(key) != null) {
+            return;
+        }
+
+        Integer size = probation.remove(key);
+        if (size != null) {
+            protection.put(key, size);
+            protectedBytes += size;
+            this.rebalance();
+        }
+    }
+
+    /**
+     * Forgets the sample of a join key, when it is removed from the index for any other reason than eviction.
+     *
+     * @param key The join key of the sample.
+    */
+    synchronized void remove(String key) {
+        Integer size = probation.remove(key);
+        if (size == null && (size = protection.remove(key)) != null) {
+            protectedBytes -= size;
+        }
+        if (size != null) {
+            bytes -= size;
+        }
+    }
+
+    /**
+     * @param key The join key of the sample.
+     * @return true if the sample of the join key is tracked.
+    */
+    synchronized boolean contains(String key) {
+        return probation.containsKey(key) || protection.containsKey(key);
+    }
+
+    /**
+     * @return The number of samples tracked.
+    */
+    synchronized int size() {
+        return probation.size() + protection.size();
+    }
+
+    /**
+     * @return The estimated size in bytes of the samples tracked.
+    */
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return The number of samples evicted so far.
+    */
+    LongAdder getEvictions() {
+        return evictions;
+    }
+
+    private void rebalance() {
+        while (!protection.isEmpty()
+                && ((maxEntries > 0 && protection.size() > maxEntries * PROTECTED_RATIO)
+                    || (maxBytes > 0 && protectedBytes > maxBytes * PROTECTED_RATIO))) {
+            Map.Entry<String, Integer> eldest = removeEldest(protection);
+            protectedBytes -= eldest.getValue();
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private List<String> evict() {
+        List<String> victims = Collections.emptyList();
+        while ((maxEntries > 0 && this.size() > maxEntries) || (maxBytes > 0 && bytes > maxBytes)) {
+            Map.Entry<String, Integer> eldest;
+            if (!probation.isEmpty()) {
+                eldest = removeEldest(probation);
+            } else {
+                eldest = removeEldest(protection);
+                protectedBytes -= eldest.getValue();
+            }
+
+            bytes -= eldest.getValue();
+            evictions.increment();
+            if (victims.isEmpty()) {
+                victims = new ArrayList<>(1);
+            }
+            victims.add(eldest.getKey());
+        }
+        return victims;
+    }
+
+    private static Map.Entry<String, Integer> removeEldest(LinkedHashMap<String, Integer> segment) {
+        Iterator<Map.Entry<String, Integer>> iterator = segment.entrySet().iterator();
+        Map.Entry<String, Integer> eldest = iterator.next();
+        Map.Entry<String, Integer> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return removed;
+    }
+}
@@ -0,0 +1,37 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import java.util.function.Predicate;
+
+/**
+ * This interface represents the pending expirations of the join index, provided by its store (see {@link JoinStore#timers(long)}).
+ * Timers are scheduled from any thread, while the queue is advanced by a single thread at a time.
+*/
+interface TimerQueue {
+
+    /**
+     * A pending expiration: the slot of the join key that expires at the deadline.
+    */
+    record Timer(String key, int slot, long deadline) {
+    }
+
+    /**
+     * Schedules a timer.
+     *
+     * @param timer The timer to schedule.
+    */
+    void schedule(Timer timer);
+
+    /**
+     * @return The number of timers scheduled and not fired yet.
+    */
+    int size();
+
+    /**
+     * Fires every timer whose deadline is before the given time.
+     *
+     * @param now The current time in milliseconds.
+     * @param expire The action run for every timer fired, returning whether it expired something.
+     * @return The number of timers for which the action returned true.
+    */
+    int advance(long now, Predicate<Timer> expire);
+}
@@ -0,0 +1,95 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * This class is a hashed timing wheel that fires the expiration of the samples of the join index kept on the heap.
+ * The time is split in ticks, and every tick is mapped to a bucket of a circular array: scheduling a timer costs a
+ * lock-free enqueue, and advancing the wheel only visits the buckets of the ticks elapsed in the meantime.
+ * Timers further away than a full rotation stay in their bucket and are skipped until their round comes.
+ * Timers are scheduled from any thread, while the wheel is advanced by a single thread at a time.
+*/
+final class TimerWheel implements TimerQueue {
+
+    static final int DEFAULT_SIZE = 512;
+
+    private final long tick;
+    private final List<ArrayDeque<Timer>> buckets;
+    private final int mask;
+    private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+    private long cursor;
+
+    /**
+     * @param tick The length of a tick in milliseconds, which is the maximum delay of an expiration.
+     * @param size The minimum number of buckets, rounded up to a power of two.
+     * @param now The current time in milliseconds.
+    */
+    TimerWheel(long tick, int size, long now) {
+        int length = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.tick = tick;
+        this.buckets = new ArrayList<>(length);
+        this.mask = length - 1;
+        this.cursor = now / tick;
+        for (int i = 0; i < length; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Schedules a timer; it is placed in its bucket at the next advance.
+     *
+     * @param timer The timer to schedule.
+    */
+    @Override
+    public void schedule(Timer timer) {
+        pending.add(timer);
+    }
+
+    @Override
+    public synchronized int size() {
+        int size = pending.size();
+        for (ArrayDeque<Timer> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    /**
+     * Fires every timer whose deadline is before the given time, rounded down to the tick.
+     *
+     * @param now The current time in milliseconds.
+     * @param expire The action run for every timer fired, returning whether it expired something.
+     * @return The number of timers for which the action returned true.
+    */
+    @Override
+    public synchronized int advance(long now, Predicate<Timer> expire) {
+        for (Timer timer = pending.poll(); timer != null; timer = pending.poll()) {
+            long due = Math.max(timer.deadline() / tick + 1, cursor);
+            buckets.get((int) (due & mask)).addLast(timer);
+        }
+
+        long target = now / tick;
+        int fired = 0;
+        // buckets visited earlier than a full rotation ago are visited again later in the loop with a later tick
+        for (long c = Math.max(cursor, target - mask); c <= target; c++) {
+            ArrayDeque<Timer> bucket = buckets.get((int) (c & mask));
+            long limit = c * tick;
+            for (int n = bucket.size(); n > 0; n--) {
+                Timer timer = bucket.pollFirst();
+                if (timer.deadline() < limit) {
+                    fired += expire.test(timer) ? 1 : 0;
+                } else {
+                    bucket.addLast(timer);
+                }
+            }
+        }
+
+        cursor = Math.max(cursor, target + 1);
+        return fired;
+    }
+}
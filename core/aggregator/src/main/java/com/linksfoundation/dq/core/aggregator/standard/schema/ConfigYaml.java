@@ -17,5 +17,8 @@ import java.util.List;
 public class ConfigYaml {
     @Builder.Default
     private String name = "standard-aggregator";
-    private List<Dataset> datasets;
+    @Builder.Default
+    private List<Dataset> datasets = List.of();
+    @Builder.Default
+    private List<Window> windows = List.of();
 }
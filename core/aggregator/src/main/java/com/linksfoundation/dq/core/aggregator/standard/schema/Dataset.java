@@ -17,4 +17,8 @@ public class Dataset {
     private String key;
     @Builder.Default
     private String expiration = "";
+    @Builder.Default
+    private int maxEntries = 0;
+    @Builder.Default
+    private long maxBytes = 0;
 }
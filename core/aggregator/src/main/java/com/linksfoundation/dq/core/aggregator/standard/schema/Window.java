@@ -0,0 +1,30 @@
+package com.linksfoundation.dq.core.aggregator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Format used for the specification of a time window aggregation inside the configuration file.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Window {
+    private String name;
+    private String dataset;
+    @Builder.Default
+    private String key = "";
+    private String size;
+    @Builder.Default
+    private String slide = "";
+    @Builder.Default
+    private String lateness = "";
+    private List<String> features;
+    @Builder.Default
+    private List<String> functions = List.of("count", "sum", "min", "max", "mean", "variance", "last");
+}
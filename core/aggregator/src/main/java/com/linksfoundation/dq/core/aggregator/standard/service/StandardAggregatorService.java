@@ -1,43 +1,46 @@
 package com.linksfoundation.dq.core.aggregator.standard.service;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.linksfoundation.dq.api.aggregator.service.AggregatorManager;
 import com.linksfoundation.dq.api.aggregator.service.AggregatorService;
-import com.linksfoundation.dq.core.aggregator.standard.exceptions.RuleBadFormatted;
+import com.linksfoundation.dq.core.common.config.ConfigWatcher;
+import com.linksfoundation.dq.core.aggregator.standard.config.AggregatorConfig;
 import com.linksfoundation.dq.core.aggregator.standard.exceptions.YamlBadFormatted;
+import com.linksfoundation.dq.core.aggregator.standard.join.HeapJoinStore;
+import com.linksfoundation.dq.core.aggregator.standard.join.JoinDataset;
+import com.linksfoundation.dq.core.aggregator.standard.join.JoinIndex;
+import com.linksfoundation.dq.core.aggregator.standard.join.JoinStore;
+import com.linksfoundation.dq.core.aggregator.standard.join.MapDbJoinStore;
 import com.linksfoundation.dq.core.aggregator.standard.schema.ConfigYaml;
 import com.linksfoundation.dq.core.aggregator.standard.schema.Dataset;
-import com.linksfoundation.dq.core.aggregator.standard.schema.Specs;
+import com.linksfoundation.dq.core.aggregator.standard.window.WindowAggregators;
+import com.linksfoundation.dq.core.aggregator.standard.window.WindowPlan;
 import com.linksfoundation.dq.api.model.BoolArray;
 import com.linksfoundation.dq.api.model.FloatArray;
 import com.linksfoundation.dq.api.model.Sample;
 import com.linksfoundation.dq.api.model.StringArray;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.util.function.Tuples;
 
-import org.mapdb.DB;
-import org.mapdb.DBMaker;
-import org.mapdb.HTreeMap;
-import org.mapdb.Serializer;
-
 import java.io.File;
 import java.io.IOException;
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -51,41 +54,85 @@ import java.util.stream.Collectors;
 @Slf4j
 public class StandardAggregatorService extends AggregatorService implements CommandLineRunner{
 
+    private static final long CLOSE_TIMEOUT = 10;
+
     @Value(value = "${CONFIG_FILE}")
     private String configFile;
-    private Map<String, Dataset> datasetsConfig;
-    //private DB db;
-    //private HTreeMap<String, HTreeMap<String, Sample>> datasets;
-    private ConcurrentMap<String, ConcurrentMap<String, Sample>> db;
-
-    protected StandardAggregatorService(AggregatorManager manager) {
+    @Value(value = "${CONFIG_RELOAD_INTERVAL:5000}")
+    private long configReloadInterval;
+    @Value(value = "${EXPIRATION_TICK:1000}")
+    private long expirationTick;
+    @Value(value = "${STATE_BACKEND:HEAP}")
+    private JoinStore.Backend stateBackend;
+    @Value(value = "${STATE_PATH:aggregator-state.db}")
+    private String statePath;
+    @Value(value = "${STATE_CACHE:100000}")
+    private int stateCache;
+    @Value(value = "${STATE_COMMIT_INTERVAL:1000}")
+    private long stateCommitInterval;
+    @Value(value = "${OVERFLOW_TOPIC:}")
+    private String overflowTopic;
+    private final MeterRegistry registry;
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
+    private ConfigWatcher<AggregatorConfig> config;
+    private JoinStore store;
+    private JoinIndex index;
+    private ScheduledExecutorService executor;
+    private Disposable subscription;
+    private final WindowAggregators windows;
+
+    protected StandardAggregatorService(AggregatorManager manager, MeterRegistry registry,
+                                        ReactiveKafkaProducerTemplate<String, byte[]> producer) {
         super(manager);
+        this.registry = registry;
+        this.producer = producer;
+        this.windows = new WindowAggregators(registry);
     }
 
     /**
      * Aggregate the given sample data and returns the aggregated result as a Flux.
+     * The configuration is read once, so a reload of the configuration never affects a sample that is already being aggregated.
+     * The sample is added to the time windows of its dataset, and the windows it closes are emitted before its joins.
      *
      * @param sample The sample data to aggregate.
      * @return A Flux emitting the aggregated samples.
     */
     public Flux<Sample> aggregate(Sample sample) {
-        String name = sample.getDataset();
-        if (datasetsConfig.containsKey(name)) {
-            this.addSampleToMap(datasetsConfig.get(name), sample);
+        AggregatorConfig aggregatorConfig = config.get();
+        List<Sample> windowed = this.windows.aggregate(sample);
+        Flux<Sample> joined = this.join(aggregatorConfig.datasets(), sample);
+        return windowed.isEmpty() ? joined : Flux.fromIterable(windowed).concatWith(joined);
+    }
+
+    /**
+     * Joins the given sample with the samples of the other datasets having the same key.
+     * The partners of the sample are looked up in the join index by the join key, so the cost does not depend on the number of stored samples.
+     *
+     * @param datasetsConfig The configuration of the datasets, indexed by name.
+     * @param sample The sample to join.
+     * @return A Flux emitting the joined sample, if the sample found a partner.
+    */
+    private Flux<Sample> join(Map<String, JoinDataset> datasetsConfig, Sample sample) {
+        JoinDataset dataset = datasetsConfig.get(sample.getDataset());
+        if (dataset == null) {
+            return Flux.empty();
         }
 
-        List<Sample> samples = new LinkedList<>();
-        String key = getKey(datasetsConfig.get(name).getKey(), sample);
+        String key = getKey(dataset.key(), sample);
+        Sample[] joined = this.index.put(dataset, key, sample);
+        if (joined == null) {
+            return Flux.empty();
+        }
 
-        for(Entry<String, ConcurrentMap<String, Sample>> dataset : this.db.entrySet()) {
-            if (datasetsConfig.keySet().contains(dataset.getKey()) &&
-                dataset.getValue().containsKey(key)) {
-                samples.add(dataset.getValue().get(key));
+        List<Sample> samples = new ArrayList<>(joined.length);
+        for (Sample partner : joined) {
+            if (partner != null && datasetsConfig.containsKey(partner.getDataset())) {
+                samples.add(partner);
             }
         }
 
         if (samples.size() > 1) {
-            return aggregateSamples(samples);
+            return aggregateSamples(datasetsConfig, samples);
         } else {
             return Flux.empty();
         }
@@ -111,47 +158,25 @@ public class StandardAggregatorService extends AggregatorService implements Comm
     }
 
     /**
-     * This method parses a YAML object and returns an instance of a specified class.
+     * This method parses a YAML configuration file, indexes its datasets by name and compiles its windows.
+     * The durations of every dataset and window are parsed here once, so a wrong one rejects the whole file.
+     * Once the file is compiled, the window aggregations are updated to its windows (see {@link WindowAggregators}).
      *
-     * @param specs The YAML object to be parsed. This is an instance of the Object class.
-     * @param schema The class that the YAML object should be mapped to.
-     *
-     * @return An instance of the specified class that represents the parsed YAML object.
-    */
-    protected Object parseYamlObject(Object specs, Class<? extends Specs> schema) {
-        ObjectMapper om = new ObjectMapper();
-        om.setSerializationInclusion(JsonInclude.Include.ALWAYS);
-
-        try {
-            byte[] json = om.writeValueAsBytes(specs);
-            return om.readValue(json, schema);
-        } catch (IOException e) {
-            throw new RuleBadFormatted();
-        }
-    }
-
-    /**
-     * Adds the given sample to the map for the specified dataset.
+     * @param path The path to the YAML configuration file.
      *
-     * @param dataset The dataset to which the sample belongs.
-     * @param sample The sample to add to the map.
+     * @return The compiled configuration.
     */
-    private void addSampleToMap(Dataset dataset, Sample sample) {
-        String key = getKey(dataset.getKey(), sample);
-
-        if (this.db.containsKey(dataset.getName())) {
-            this.db.get(dataset.getName()).put(key, sample);
-        } else {
-            /*
-            HTreeMap<String, Sample> innerMap = db
-                .hashMap(dataset, Serializer.STRING, new ProtobufSerializer())
-                .createOrOpen();
-            */
-
-            ConcurrentMap<String, Sample> innerMap = new ConcurrentHashMap<>();
-            innerMap.put(key, sample);
-            this.db.put(dataset.getName(), innerMap);
-        }
+    protected AggregatorConfig compileConfig(String path) {
+        ConfigYaml yaml = this.parseYamlFile(path);
+        Map<String, JoinDataset> datasets = yaml.getDatasets().stream()
+            .collect(Collectors.toUnmodifiableMap(
+                Dataset::getName, 
+                JoinDataset::compile));
+        List<WindowPlan> windows = yaml.getWindows().stream()
+            .map(WindowPlan::compile)
+            .toList();
+        this.windows.update(windows);
+        return new AggregatorConfig(datasets, windows);
     }
 
     /**
@@ -178,10 +203,11 @@ public class StandardAggregatorService extends AggregatorService implements Comm
     /**
      * Aggregates the given list of samples and returns the aggregated result as a Flux.
      *
+     * @param datasetsConfig The configuration of the datasets, indexed by name.
      * @param samples The list of samples to aggregate.
      * @return A Flux emitting the aggregated samples.
     */
-    private Flux<Sample> aggregateSamples(List<Sample> samples) {
+    private Flux<Sample> aggregateSamples(Map<String, JoinDataset> datasetsConfig, List<Sample> samples) {
         Map<String, FloatArray> totalFloatData = new HashMap<>();
         Map<String, BoolArray> totalBoolData = new HashMap<>();
         Map<String, StringArray> totalStringData = new HashMap<>();
@@ -192,7 +218,7 @@ public class StandardAggregatorService extends AggregatorService implements Comm
         for (int i = 0; i < samples.size(); i++) {
 
             Sample currentSample= samples.get(i);
-            String currentKey = this.datasetsConfig.get(currentSample.getDataset()).getKey();
+            String currentKey = datasetsConfig.get(currentSample.getDataset()).key();
             String newKey = KEY_FORMAT.formatted(currentSample.getDataset(), currentKey);
             
             Map<String, FloatArray> sampleFloatData = currentSample.getFloatDataMap().entrySet().stream()
@@ -264,49 +290,93 @@ public class StandardAggregatorService extends AggregatorService implements Comm
     */
     @Override
     public void run (String ...args) {
-        ConfigYaml yaml = this.parseYamlFile(configFile);
-        this.datasetsConfig = yaml.getDatasets().stream()
-            .collect(Collectors.toMap(
-                Dataset::getName, 
-                d -> d));
+        this.config = new ConfigWatcher<>(configFile, this::compileConfig);
+        this.config.bindTo(registry);
+        this.config.start(configReloadInterval);
 
-        //this.db = DBMaker.memoryDB().make();
-        //this.datasets = db.hashMap("datasets", Serializer.STRING, Serializer.JAVA).createOrOpen();
-        this.db = new ConcurrentHashMap<>();
+        this.store = switch (stateBackend) {
+            case HEAP -> new HeapJoinStore();
+            case MAPDB -> new MapDbJoinStore(statePath, stateCache);
+        };
+        this.index = new JoinIndex(store, expirationTick, overflowTopic.isEmpty() ? null : this::overflow);
+        this.index.bindTo(registry);
 
         log.info("Starting");
-        this.receive().subscribe();
-
-        long minInterval = datasetsConfig.values().stream()
-            .mapToLong(d -> Duration.parse("PT" + d.getExpiration().toUpperCase()).toMillis())
-            .min()
-            .orElse(30000000);
-
-        ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
-        exec.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                for(Dataset dataset : datasetsConfig.values()) {
-                    if (dataset.getExpiration().length() > 0 && db.containsKey(dataset.getName())) {
-                        for (Entry<String, Sample> key : db.get(dataset.getName()).entrySet()) {
-                            if (this.isExpired(dataset, key.getValue())) {
-                                db.get(dataset.getName()).remove(key.getKey());
-                            }
-                        }
-                    }
+        this.subscription = this.receive().subscribe();
+
+        this.executor = Executors.newSingleThreadScheduledExecutor();
+        this.executor.scheduleWithFixedDelay(this::expire, expirationTick, expirationTick, TimeUnit.MILLISECONDS);
+        if (stateBackend == JoinStore.Backend.MAPDB) {
+            this.executor.scheduleWithFixedDelay(() -> this.maintain(store::commit), stateCommitInterval, stateCommitInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the service: the consumption of the samples is stopped first, then the expiration and the commits of the join store
+     * are given time to finish, so that the store is only closed once nothing uses it anymore.
+    */
+    @PreDestroy
+    public void close() {
+        if (this.subscription != null) {
+            this.subscription.dispose();
+        }
+        if (this.config != null) {
+            this.config.close();
+        }
+        if (this.executor != null) {
+            this.executor.shutdown();
+            try {
+                if (!this.executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                    log.warn("Join store maintenance still running after {} s, closing the store anyway", CLOSE_TIMEOUT);
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
+        }
+        this.windows.close();
+        if (this.store != null) {
+            this.store.close();
+        }
+    }
 
-            private boolean isExpired(Dataset dataset, Sample sample) {
-                long now = System.currentTimeMillis();
-                long difference = now - sample.getTs();
-    
-                String interval = dataset.getExpiration();
-                long duration = Duration.parse("PT" + interval.toUpperCase()).toMillis();
-    
-                return difference > duration;
+    /**
+     * Removes the samples whose expiration elapsed, as scheduled by the join index.
+     * Errors are logged, so that they never stop the scheduled expiration.
+    */
+    private void expire() {
+        try {
+            int expired = this.index.expire(System.currentTimeMillis());
+            if (expired > 0) {
+                log.debug("{} samples expired, {} join keys pending", expired, this.index.size());
             }
+        } catch (RuntimeException e) {
+            log.error("Expiration failed: {}", e.toString());
+        }
+    }
 
-        }, 0, (long) 0.95*minInterval, TimeUnit.MILLISECONDS);
+    /**
+     * Sends a sample evicted from the join index to the overflow topic, keyed by its join key, so that it can be joined later.
+     *
+     * @param key The join key of the sample.
+     * @param sample The evicted sample.
+    */
+    protected void overflow(String key, Sample sample) {
+        producer.send(overflowTopic, key, sample.toByteArray())
+                .doOnError(e -> log.error("Evicted sample not sent to {}: {}", overflowTopic, e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+
+    /**
+     * Runs a maintenance task of the join store, logging its errors so that they never stop the next runs.
+     *
+     * @param task The task to run.
+    */
+    private void maintain(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Join store maintenance failed: {}", e.toString());
+        }
     }
 }
@@ -0,0 +1,348 @@
+package com.linksfoundation.dq.core.aggregator.standard.window;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class aggregates the samples of a dataset in the time windows of a {@link WindowPlan}, by key and feature.
+ * Time is split in panes as long as the slide, and every sample only updates the primitive accumulators of its pane:
+ * count, sum, minimum, maximum, running mean and sum of squared deviations (Welford), and last value.
+ * A window is computed when it closes by merging the accumulators of its panes, so no sample is ever buffered and a sliding
+ * window costs the same as a tumbling one at every sample.
+ * Windows close in event time: the watermark is the highest timestamp seen minus the lateness, and a window is emitted as
+ * soon as its end is not after the watermark. Samples too old for any open window are dropped and counted as late.
+ * Groups waiting for a window to close are indexed by the end of that window, so every sample only checks the first one,
+ * and a group is dropped as soon as all its windows have been emitted.
+ * All the methods are guarded by the monitor of the instance.
+*/
+class WindowAggregator {
+
+    private static final int SUM = 0;
+    private static final int MIN = 1;
+    private static final int MAX = 2;
+    private static final int MEAN = 3;
+    private static final int M2 = 4;
+    private static final int LAST = 5;
+    private static final int STATS = 6;
+    private static final int INITIAL_PANES = 4;
+
+    private final WindowPlan plan;
+    private final int panes;
+    private final Map<String, Group> groups = new HashMap<>();
+    private final TreeMap<Long, List<Group>> closing = new TreeMap<>();
+    private final LongAdder late = new LongAdder();
+    private long watermark = Long.MIN_VALUE;
+
+    /**
+     * The accumulators of a pane, one set per feature of the plan.
+    */
+    private static final class Pane {
+        private final long[] counts;
+        private final long[] lastTs;
+        private final double[] stats;
+
+        private Pane(int features) {
+            this.counts = new long[features];
+            this.lastTs = new long[features];
+            this.stats = new double[features * STATS];
+        }
+    }
+
+    /**
+     * The panes of a key, in a ring covering the pane indexes from base (included) to top (excluded).
+    */
+    private static final class Group {
+        private final String key;
+        private Pane[] ring = new Pane[INITIAL_PANES];
+        private long base;
+        private long top;
+        private long emitted;
+        private boolean registered;
+
+        private Group(String key, long emitted) {
+            this.key = key;
+            this.emitted = emitted;
+        }
+    }
+
+    WindowAggregator(WindowPlan plan) {
+        this.plan = plan;
+        this.panes = (int) (plan.size() / plan.slide());
+    }
+
+    WindowPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * @return The number of samples dropped because all their windows were already closed.
+    */
+    LongAdder getLate() {
+        return late;
+    }
+
+    /**
+     * @return The number of keys with at least a window still open.
+    */
+    synchronized int size() {
+        return groups.size();
+    }
+
+    /**
+     * Adds a sample of the dataset of the plan, and returns the windows closed by the watermark it moves.
+     *
+     * @param sample The sample to aggregate.
+     * @return The aggregated samples of the closed windows, possibly empty.
+    */
+    synchronized List<Sample> add(Sample sample) {
+        long ts = sample.getTs();
+        watermark = Math.max(watermark, ts - plan.lateness());
+        // the last window containing the sample is the one of its pane, not the one starting at its timestamp
+        if (Math.floorDiv(ts, plan.slide()) * plan.slide() + plan.size() <= watermark) {
+            late.increment();
+            return Collections.emptyList();
+        }
+
+        // windows are closed before adding the sample, so that a jump forward in time never stretches the panes of a key
+        List<Sample> closed = this.close();
+
+        String key = this.getKey(sample);
+        Group group = groups.get(key);
+        if (group == null) {
+            // windows already closed for the other keys are closed for a new key too
+            group = new Group(key, Math.floorDiv(watermark, plan.slide()) * plan.slide());
+            groups.put(key, group);
+        }
+
+        this.update(this.pane(group, Math.floorDiv(ts, plan.slide())), sample);
+        if (!group.registered) {
+            this.register(group, this.nextEnd(group));
+        }
+        return closed;
+    }
+
+    private String getKey(Sample sample) {
+        String key = plan.key();
+        if (key.isEmpty()) {
+            return "";
+        } else if (sample.getStringDataMap().containsKey(key)) {
+            StringArray values = sample.getStringDataMap().get(key);
+            return values.getElementCount() > 0 ? values.getElement(0) : "";
+        } else if (sample.getFloatDataMap().containsKey(key)) {
+            FloatArray values = sample.getFloatDataMap().get(key);
+            return values.getElementCount() > 0 ? Float.toString(values.getElement(0)) : "";
+        } else if (sample.getBoolDataMap().containsKey(key)) {
+            return sample.getBoolDataMap().get(key).toString();
+        }
+        return "";
+    }
+
+    /**
+     * Returns the pane with the given index, growing the ring of the group if it does not cover it.
+    */
+    private Pane pane(Group group, long index) {
+        if (group.top == group.base) {
+            group.base = index;
+            group.top = index;
+        }
+
+        long base = Math.min(group.base, index);
+        long top = Math.max(group.top, index + 1);
+        if (top - base > group.ring.length) {
+            int length = group.ring.length;
+            while (top - base > length) {
+                length <<= 1;
+            }
+
+            Pane[] ring = new Pane[length];
+            for (long i = group.base; i < group.top; i++) {
+                ring[(int) (i & (length - 1))] = group.ring[(int) (i & (group.ring.length - 1))];
+            }
+            group.ring = ring;
+        }
+        group.base = base;
+        group.top = top;
+
+        int slot = (int) (index & (group.ring.length - 1));
+        if (group.ring[slot] == null) {
+            group.ring[slot] = new Pane(plan.features().size());
+        }
+        return group.ring[slot];
+    }
+
+    private void update(Pane pane, Sample sample) {
+        Map<String, FloatArray> data = sample.getFloatDataMap();
+        for (int f = 0; f < plan.features().size(); f++) {
+            FloatArray values = data.get(plan.features().get(f));
+            if (values == null) {
+                continue;
+            }
+
+            int offset = f * STATS;
+            double[] stats = pane.stats;
+            for (int i = 0; i < values.getElementCount(); i++) {
+                double value = values.getElement(i);
+                long count = ++pane.counts[f];
+                if (count == 1) {
+                    stats[offset + MIN] = value;
+                    stats[offset + MAX] = value;
+                } else {
+                    stats[offset + MIN] = Math.min(stats[offset + MIN], value);
+                    stats[offset + MAX] = Math.max(stats[offset + MAX], value);
+                }
+                stats[offset + SUM] += value;
+                double delta = value - stats[offset + MEAN];
+                stats[offset + MEAN] += delta / count;
+                stats[offset + M2] += delta * (value - stats[offset + MEAN]);
+            }
+
+            if (values.getElementCount() > 0 && sample.getTs() >= pane.lastTs[f]) {
+                pane.lastTs[f] = sample.getTs();
+                stats[offset + LAST] = values.getElement(values.getElementCount() - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the end of the first window of the group not emitted yet and containing a pane, or Long.MIN_VALUE if there is none.
+    */
+    private long nextEnd(Group group) {
+        for (long i = group.base; i < group.top; i++) {
+            if (group.ring[(int) (i & (group.ring.length - 1))] != null) {
+                return Math.max((i + 1) * plan.slide(), group.emitted + plan.slide());
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private void register(Group group, long end) {
+        closing.computeIfAbsent(end, e -> new ArrayList<>()).add(group);
+        group.registered = true;
+    }
+
+    private List<Sample> close() {
+        List<Sample> closed = Collections.emptyList();
+        while (!closing.isEmpty() && closing.firstKey() <= watermark) {
+            for (Group group : closing.pollFirstEntry().getValue()) {
+                group.registered = false;
+                long end = this.nextEnd(group);
+                while (end != Long.MIN_VALUE && end <= watermark) {
+                    if (closed.isEmpty()) {
+                        closed = new ArrayList<>();
+                    }
+                    closed.add(this.emit(group, end));
+                    group.emitted = end;
+                    this.drop(group, end / plan.slide() - panes + 1);
+                    end = this.nextEnd(group);
+                }
+
+                if (end == Long.MIN_VALUE) {
+                    groups.remove(group.key);
+                } else {
+                    this.register(group, end);
+                }
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Drops the panes of the group before the given index, as no window still to be emitted contains them.
+    */
+    private void drop(Group group, long index) {
+        long limit = Math.min(index, group.top);
+        for (long i = group.base; i < limit; i++) {
+            group.ring[(int) (i & (group.ring.length - 1))] = null;
+        }
+        group.base = Math.max(group.base, limit);
+    }
+
+    /**
+     * Merges the panes of the window ending at the given time and builds its aggregated sample.
+    */
+    private Sample emit(Group group, long end) {
+        int features = plan.features().size();
+        long[] counts = new long[features];
+        long[] lastTs = new long[features];
+        double[] stats = new double[features * STATS];
+
+        long from = Math.max(end / plan.slide() - panes, group.base);
+        long to = Math.min(end / plan.slide(), group.top);
+        for (long i = from; i < to; i++) {
+            Pane pane = group.ring[(int) (i & (group.ring.length - 1))];
+            if (pane == null) {
+                continue;
+            }
+
+            for (int f = 0; f < features; f++) {
+                long n = pane.counts[f];
+                if (n == 0) {
+                    continue;
+                }
+
+                int offset = f * STATS;
+                long total = counts[f] + n;
+                if (counts[f] == 0) {
+                    System.arraycopy(pane.stats, offset, stats, offset, STATS);
+                } else {
+                    // parallel combination of the running means and squared deviations (Chan et al.)
+                    double delta = pane.stats[offset + MEAN] - stats[offset + MEAN];
+                    stats[offset + M2] += pane.stats[offset + M2] + delta * delta * counts[f] * n / total;
+                    stats[offset + MEAN] += delta * n / total;
+                    stats[offset + SUM] += pane.stats[offset + SUM];
+                    stats[offset + MIN] = Math.min(stats[offset + MIN], pane.stats[offset + MIN]);
+                    stats[offset + MAX] = Math.max(stats[offset + MAX], pane.stats[offset + MAX]);
+                    if (pane.lastTs[f] >= lastTs[f]) {
+                        stats[offset + LAST] = pane.stats[offset + LAST];
+                    }
+                }
+                lastTs[f] = Math.max(lastTs[f], pane.lastTs[f]);
+                counts[f] = total;
+            }
+        }
+
+        Sample.Builder builder = Sample.newBuilder()
+                .setState(Sample.States.AGGREGATED)
+                .setTs(end)
+                .setKey(group.key)
+                .setDataset(plan.name())
+                .putMetadata("window", plan.name())
+                .putMetadata("dataset", plan.dataset())
+                .putMetadata("start", Long.toString(end - plan.size()))
+                .putMetadata("end", Long.toString(end));
+        if (!plan.key().isEmpty()) {
+            builder.putStringData(plan.key(), StringArray.newBuilder().addElement(group.key).build());
+        }
+
+        for (int f = 0; f < features; f++) {
+            if (counts[f] == 0) {
+                continue;
+            }
+
+            int offset = f * STATS;
+            for (WindowPlan.Function function : plan.functions()) {
+                double value = switch (function) {
+                    case COUNT -> counts[f];
+                    case SUM -> stats[offset + SUM];
+                    case MIN -> stats[offset + MIN];
+                    case MAX -> stats[offset + MAX];
+                    case MEAN -> stats[offset + MEAN];
+                    case VARIANCE -> stats[offset + M2] / counts[f];
+                    case LAST -> stats[offset + LAST];
+                };
+                builder.putFloatData("%s-%s".formatted(plan.features().get(f), function.name().toLowerCase()),
+                        FloatArray.newBuilder().addElement((float) value).build());
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.linksfoundation.dq.core.aggregator.standard.window;
+
+import com.linksfoundation.dq.api.model.Sample;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class dispatches the samples to the window aggregations of their dataset.
+ * The aggregations are rebuilt when a configuration is compiled, and never by the samples, so the threads still holding
+ * the previous configuration during a reload aggregate in the windows of the new one instead of rolling them back.
+ * An aggregation whose plan is unchanged after a reload keeps its open windows, while a changed one starts again from empty windows.
+*/
+@Slf4j
+public class WindowAggregators implements AutoCloseable {
+
+    private final MeterRegistry registry;
+    private Map<String, WindowAggregator> aggregators = Map.of();
+    private volatile Map<String, List<WindowAggregator>> byDataset = Map.of();
+    private final List<Meter> meters = new ArrayList<>();
+
+    /**
+     * @param registry The registry of the metrics of the aggregations, or null.
+    */
+    public WindowAggregators(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Aggregates the sample in the windows of its dataset.
+     *
+     * @param sample The sample to aggregate.
+     * @return The aggregated samples of the windows closed by the sample, possibly empty.
+    */
+    public List<Sample> aggregate(Sample sample) {
+        List<WindowAggregator> windows = byDataset.get(sample.getDataset());
+        if (windows == null) {
+            return Collections.emptyList();
+        }
+
+        List<Sample> closed = Collections.emptyList();
+        for (WindowAggregator window : windows) {
+            List<Sample> samples = window.add(sample);
+            if (!samples.isEmpty()) {
+                if (closed.isEmpty()) {
+                    closed = new ArrayList<>(samples.size());
+                }
+                closed.addAll(samples);
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Replaces the aggregations with the ones of a newly compiled configuration, keeping the aggregations whose plan is unchanged.
+     *
+     * @param plans The windows of the new configuration.
+    */
+    public synchronized void update(List<WindowPlan> plans) {
+        Map<String, WindowAggregator> updated = new HashMap<>();
+        Map<String, List<WindowAggregator>> datasets = new HashMap<>();
+        for (WindowPlan plan : plans) {
+            WindowAggregator aggregator = aggregators.get(plan.name());
+            if (aggregator == null || !aggregator.getPlan().equals(plan)) {
+                aggregator = new WindowAggregator(plan);
+                log.info("Window {} over dataset {} started", plan.name(), plan.dataset());
+            }
+            updated.put(plan.name(), aggregator);
+            datasets.computeIfAbsent(plan.dataset(), d -> new ArrayList<>()).add(aggregator);
+        }
+
+        this.aggregators = updated;
+        this.byDataset = datasets;
+        this.bindMeters();
+    }
+
+    private void bindMeters() {
+        if (registry == null) {
+            return;
+        }
+
+        meters.forEach(registry::remove);
+        meters.clear();
+        for (WindowAggregator aggregator : aggregators.values()) {
+            String window = aggregator.getPlan().name();
+            meters.add(Gauge.builder("dq.aggregator.window.keys", aggregator, WindowAggregator::size)
+                    .description("Number of keys with at least a window still open")
+                    .tag("window", window)
+                    .register(registry));
+            meters.add(FunctionCounter.builder("dq.aggregator.window.late", aggregator.getLate(), LongAdder::sum)
+                    .description("Number of samples dropped because all their windows were already closed")
+                    .tag("window", window)
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
+    }
+}
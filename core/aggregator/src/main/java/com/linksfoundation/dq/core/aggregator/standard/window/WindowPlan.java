@@ -0,0 +1,92 @@
+package com.linksfoundation.dq.core.aggregator.standard.window;
+
+import com.linksfoundation.dq.core.aggregator.standard.exceptions.RuleBadFormatted;
+import com.linksfoundation.dq.core.aggregator.standard.exceptions.RuleNotRecognized;
+import com.linksfoundation.dq.core.aggregator.standard.schema.Window;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A time window aggregation of the configuration, compiled with its durations already parsed.
+ * Windows are aligned to the epoch and cover [end - size, end), with an end every slide; a tumbling window has the slide
+ * equal to the size.
+ *
+ * @param name The name of the window, used as dataset of the aggregated samples.
+ * @param dataset The dataset whose samples are aggregated.
+ * @param key The feature grouping the samples, or an empty string to aggregate all the samples of the dataset together.
+ * @param size The length of a window in milliseconds.
+ * @param slide The distance between the ends of two consecutive windows in milliseconds, a divisor of the size.
+ * @param lateness How long in milliseconds a window waits for late samples after its end, in event time.
+ * @param features The float features aggregated.
+ * @param functions The functions computed for every feature.
+*/
+public record WindowPlan(String name, String dataset, String key, long size, long slide, long lateness,
+                         List<String> features, List<Function> functions) {
+
+    /**
+     * The functions computed over the values of a feature in a window.
+    */
+    public enum Function {
+        COUNT,
+        SUM,
+        MIN,
+        MAX,
+        MEAN,
+        VARIANCE,
+        LAST
+    }
+
+    /**
+     * Compiles the given window, parsing its durations and functions.
+     *
+     * @param window The window read from the configuration file.
+     * @return The compiled window.
+    */
+    public static WindowPlan compile(Window window) {
+        if (window.getName() == null || window.getDataset() == null) {
+            throw new RuleBadFormatted("Window without name or dataset");
+        }
+        if (window.getFeatures() == null || window.getFeatures().isEmpty()) {
+            throw new RuleBadFormatted("Window %s without features".formatted(window.getName()));
+        }
+
+        long size = parseDuration(window.getName(), "size", window.getSize(), 0);
+        long slide = parseDuration(window.getName(), "slide", window.getSlide(), size);
+        long lateness = parseDuration(window.getName(), "lateness", window.getLateness(), 0);
+        if (size <= 0 || slide <= 0 || size % slide != 0) {
+            throw new RuleBadFormatted("Window %s must have a positive size multiple of its slide".formatted(window.getName()));
+        }
+        if (lateness < 0) {
+            throw new RuleBadFormatted("Window %s must have a lateness not negative".formatted(window.getName()));
+        }
+
+        List<Function> functions = window.getFunctions().stream()
+                .map(f -> {
+                    try {
+                        return Function.valueOf(f.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new RuleNotRecognized("Function %s of window %s not recognized".formatted(f, window.getName()));
+                    }
+                })
+                .distinct()
+                .toList();
+
+        return new WindowPlan(window.getName(), window.getDataset(), window.getKey() == null ? "" : window.getKey(),
+                size, slide, lateness, List.copyOf(window.getFeatures()), functions);
+    }
+
+    private static long parseDuration(String window, String field, String value, long missing) {
+        if (value == null || value.isEmpty()) {
+            return missing;
+        }
+
+        try {
+            return Duration.parse("PT" + value.toUpperCase()).toMillis();
+        } catch (DateTimeParseException e) {
+            throw new RuleBadFormatted("%s %s of window %s not recognized".formatted(field, value, window));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import com.linksfoundation.dq.api.model.Sample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JoinIndexTest {
+
+    private static final long TICK = 10;
+
+    private static Sample sample(long ts) {
+        return Sample.newBuilder().setTs(ts).build();
+    }
+
+    @Test
+    public void testJoin() {
+        JoinIndex index = new JoinIndex();
+        JoinDataset speed = new JoinDataset("speed", "machine", 0, 0, 0);
+        JoinDataset position = new JoinDataset("position", "machine", 0, 0, 0);
+        Sample first = sample(1);
+        Sample second = sample(2);
+
+        assertNull(index.put(speed, "M-1", first));
+        assertNull(index.put(position, "M-2", second));
+        Sample[] joined = index.put(position, "M-1", second);
+        assertNotNull(joined);
+        assertSame(first, joined[index.slot("speed")]);
+        assertSame(second, joined[index.slot("position")]);
+        assertEquals(2, index.size());
+        assertEquals(0, index.timers());
+    }
+
+    @Test
+    public void testEviction() {
+        List<String> evicted = new ArrayList<>();
+        JoinIndex index = new JoinIndex(new HeapJoinStore(), TICK, (key, sample) -> evicted.add(key));
+        JoinDataset speed = new JoinDataset("speed", "machine", 0, 2, 0);
+        JoinDataset position = new JoinDataset("position", "machine", 0, 0, 0);
+
+        index.put(speed, "M-1", sample(1));
+        index.put(speed, "M-2", sample(2));
+        index.put(position, "M-1", sample(3));
+        index.put(speed, "M-3", sample(4));
+        // M-1 has been joined, so it is protected and M-2 is evicted in its place
+        assertEquals(List.of("M-2"), evicted);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testOneTimerPerSlot() {
+        JoinIndex index = new JoinIndex(new HeapJoinStore(), TICK, null);
+        JoinDataset speed = new JoinDataset("speed", "machine", 1000, 0, 0);
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < 100; i++) {
+            index.put(speed, "M-1", sample(now + i));
+        }
+        assertEquals(1, index.timers());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testRescheduleRefreshedSlot() {
+        JoinIndex index = new JoinIndex(new HeapJoinStore(), TICK, null);
+        JoinDataset speed = new JoinDataset("speed", "machine", 1000, 0, 0);
+        long now = System.currentTimeMillis();
+
+        index.put(speed, "M-1", sample(now));
+        index.put(speed, "M-1", sample(now + 500));
+        assertEquals(0, index.expire(now + 1000 + TICK));
+        assertEquals(1, index.size());
+        assertEquals(1, index.timers());
+
+        assertEquals(1, index.expire(now + 1500 + TICK));
+        assertEquals(0, index.size());
+        assertEquals(0, index.timers());
+    }
+
+    @Test
+    public void testEarlierDeadline() {
+        JoinIndex index = new JoinIndex(new HeapJoinStore(), TICK, null);
+        JoinDataset speed = new JoinDataset("speed", "machine", 1000, 0, 0);
+        long now = System.currentTimeMillis();
+
+        index.put(speed, "M-1", sample(now + 500));
+        index.put(speed, "M-1", sample(now));
+        assertEquals(1, index.expire(now + 1000 + TICK));
+        assertEquals(0, index.size());
+        assertEquals(1, index.timers());
+
+        assertEquals(0, index.expire(now + 1500 + TICK));
+        assertEquals(0, index.timers());
+    }
+}
@@ -0,0 +1,79 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapdb.DataInput2;
+import org.mapdb.DataOutput2;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapDbJoinStoreTest {
+
+    private static final long TICK = 10;
+
+    private static Sample sample(long ts, float speed) {
+        return Sample.newBuilder()
+                .setTs(ts)
+                .setDataset("speed")
+                .putFloatData("speed", FloatArray.newBuilder().addElement(speed).build())
+                .build();
+    }
+
+    @Test
+    public void testSerializer() throws Exception {
+        JoinEntry entry = new JoinEntry(3);
+        entry.samples[2] = sample(1, 10);
+        entry.deadlines[2] = 1001;
+        entry.armed[2] = 501;
+        entry.present = 1;
+
+        JoinEntrySerializer serializer = new JoinEntrySerializer();
+        DataOutput2 out = new DataOutput2();
+        serializer.serialize(out, entry);
+        JoinEntry copy = serializer.deserialize(new DataInput2.ByteArray(out.copyBytes()), -1);
+
+        assertEquals(3, copy.samples.length);
+        assertEquals(1, copy.present);
+        assertNull(copy.samples[0]);
+        assertEquals(entry.samples[2], copy.samples[2]);
+        assertEquals(1001, copy.deadlines[2]);
+        assertEquals(501, copy.armed[2]);
+        assertEquals(JoinIndex.NEVER, copy.armed[0]);
+    }
+
+    @Test
+    public void testRecovery(@TempDir Path dir) {
+        String path = dir.resolve("state.db").toString();
+        JoinDataset speed = new JoinDataset("speed", "machine", 1000, 0, 0);
+        JoinDataset position = new JoinDataset("position", "machine", 0, 0, 0);
+        long now = System.currentTimeMillis();
+
+        try (MapDbJoinStore store = new MapDbJoinStore(path, 10)) {
+            JoinIndex index = new JoinIndex(store, TICK, null);
+            index.put(position, "M-1", sample(now, 1));
+            index.put(speed, "M-2", sample(now, 2));
+            index.put(speed, "M-2", sample(now + 500, 3));
+        }
+
+        try (MapDbJoinStore store = new MapDbJoinStore(path, 10)) {
+            JoinIndex index = new JoinIndex(store, TICK, null);
+            assertEquals(2, index.size());
+            assertEquals(1, index.slot("speed"));
+            assertEquals(0, index.slot("position"));
+            // the timers are recovered from the file: a single one for the refreshed slot, at its first deadline
+            assertEquals(1, index.timers());
+
+            Sample[] joined = index.put(speed, "M-1", sample(now + 600, 4));
+            assertNotNull(joined);
+            assertEquals(1, joined[0].getFloatDataMap().get("speed").getElement(0));
+
+            assertEquals(0, index.expire(now + 1000 + TICK));
+            assertEquals(1, index.expire(now + 1500 + TICK));
+            assertEquals(1, index.size());
+        }
+    }
+}
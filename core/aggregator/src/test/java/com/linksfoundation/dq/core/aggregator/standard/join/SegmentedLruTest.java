@@ -0,0 +1,58 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedLruTest {
+
+    @Test
+    public void testEntries() {
+        SegmentedLru lru = new SegmentedLru();
+        assertTrue(lru.admit("a", 1, 3, 0).isEmpty());
+        assertTrue(lru.admit("b", 1, 3, 0).isEmpty());
+        assertTrue(lru.admit("c", 1, 3, 0).isEmpty());
+
+        // a is promoted, so the eldest key in probation is b
+        lru.touch("a");
+        assertEquals(List.of("b"), lru.admit("d", 1, 3, 0));
+        assertFalse(lru.contains("b"));
+        assertTrue(lru.contains("a"));
+        assertEquals(3, lru.size());
+        assertEquals(1, lru.getEvictions().sum());
+    }
+
+    @Test
+    public void testProtectedOverflow() {
+        SegmentedLru lru = new SegmentedLru();
+        for (String key : List.of("a", "b", "c", "d", "e")) {
+            lru.admit(key, 1, 5, 0);
+            lru.touch(key);
+        }
+
+        // only 4 keys fit in the protected segment: a goes back to probation and is the first victim
+        assertEquals(List.of("a"), lru.admit("f", 1, 5, 0));
+        assertEquals(List.of("f"), lru.admit("g", 1, 5, 0));
+        assertEquals(5, lru.size());
+    }
+
+    @Test
+    public void testBytes() {
+        SegmentedLru lru = new SegmentedLru();
+        assertTrue(lru.admit("a", 40, 0, 100).isEmpty());
+        assertTrue(lru.admit("b", 40, 0, 100).isEmpty());
+        assertEquals(80, lru.bytes());
+
+        // a newer sample of b promotes it and replaces its size
+        assertTrue(lru.admit("b", 50, 0, 100).isEmpty());
+        assertEquals(90, lru.bytes());
+        assertEquals(List.of("a"), lru.admit("c", 30, 0, 100));
+        assertEquals(80, lru.bytes());
+
+        lru.remove("b");
+        assertEquals(30, lru.bytes());
+        assertEquals(1, lru.size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.linksfoundation.dq.core.aggregator.standard.join;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    @Test
+    public void testAdvance() {
+        TimerWheel wheel = new TimerWheel(10, 4, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(new TimerWheel.Timer("near", 0, 15));
+        wheel.schedule(new TimerWheel.Timer("far", 0, 95));
+        assertEquals(2, wheel.size());
+
+        assertEquals(0, wheel.advance(10, timer -> fired.add(timer.key())));
+        assertEquals(1, wheel.advance(20, timer -> fired.add(timer.key())));
+        assertEquals(List.of("near"), fired);
+
+        // the far timer shares the bucket of the near one, but it is skipped until its round comes
+        assertEquals(0, wheel.advance(90, timer -> fired.add(timer.key())));
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.advance(100, timer -> fired.add(timer.key())));
+        assertEquals(List.of("near", "far"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPastDeadline() {
+        TimerWheel wheel = new TimerWheel(10, 4, 100);
+        wheel.schedule(new TimerWheel.Timer("past", 0, 5));
+        assertEquals(1, wheel.advance(110, timer -> true));
+        assertEquals(0, wheel.size());
+    }
+}
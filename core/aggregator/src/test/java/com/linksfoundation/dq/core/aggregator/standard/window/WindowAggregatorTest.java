@@ -0,0 +1,103 @@
+package com.linksfoundation.dq.core.aggregator.standard.window;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WindowAggregatorTest {
+
+    private static final List<WindowPlan.Function> FUNCTIONS = List.of(WindowPlan.Function.COUNT, WindowPlan.Function.SUM,
+            WindowPlan.Function.MEAN, WindowPlan.Function.MAX);
+
+    private static WindowAggregator aggregator(long size, long slide) {
+        return new WindowAggregator(new WindowPlan("speed-window", "speed", "machine", size, slide, 0, List.of("speed"), FUNCTIONS));
+    }
+
+    private static Sample sample(String machine, long ts, float speed) {
+        return Sample.newBuilder()
+                .setTs(ts)
+                .setDataset("speed")
+                .putStringData("machine", StringArray.newBuilder().addElement(machine).build())
+                .putFloatData("speed", FloatArray.newBuilder().addElement(speed).build())
+                .build();
+    }
+
+    private static float value(Sample sample, String feature) {
+        return sample.getFloatDataMap().get(feature).getElement(0);
+    }
+
+    @Test
+    public void testTumbling() {
+        WindowAggregator aggregator = aggregator(10, 10);
+        assertTrue(aggregator.add(sample("M-1", 1, 1)).isEmpty());
+        assertTrue(aggregator.add(sample("M-1", 5, 3)).isEmpty());
+
+        List<Sample> closed = aggregator.add(sample("M-1", 12, 10));
+        assertEquals(1, closed.size());
+        Sample window = closed.get(0);
+        assertEquals(Sample.States.AGGREGATED, window.getState());
+        assertEquals(10, window.getTs());
+        assertEquals("M-1", window.getKey());
+        assertEquals("0", window.getMetadataMap().get("start"));
+        assertEquals(2, value(window, "speed-count"));
+        assertEquals(4, value(window, "speed-sum"));
+        assertEquals(2, value(window, "speed-mean"));
+        assertEquals(3, value(window, "speed-max"));
+        assertEquals(1, aggregator.size());
+    }
+
+    @Test
+    public void testSliding() {
+        WindowAggregator aggregator = aggregator(20, 10);
+        List<Sample> closed = new ArrayList<>();
+        closed.addAll(aggregator.add(sample("M-1", 5, 1)));
+        closed.addAll(aggregator.add(sample("M-1", 15, 2)));
+        closed.addAll(aggregator.add(sample("M-1", 25, 3)));
+        closed.addAll(aggregator.add(sample("M-1", 45, 0)));
+        assertEquals(List.of(10L, 20L, 30L, 40L), closed.stream().map(Sample::getTs).toList());
+        assertEquals(List.of(1f, 3f, 5f, 3f), closed.stream().map(s -> value(s, "speed-sum")).toList());
+        assertEquals(List.of(1f, 2f, 2f, 1f), closed.stream().map(s -> value(s, "speed-count")).toList());
+    }
+
+    @Test
+    public void testLate() {
+        WindowAggregator aggregator = aggregator(10, 10);
+        aggregator.add(sample("M-1", 21, 1));
+        assertEquals(1, aggregator.add(sample("M-1", 35, 2)).size());
+
+        // [20, 30) is closed even if the sample is less than a window behind the watermark
+        assertTrue(aggregator.add(sample("M-1", 29, 3)).isEmpty());
+        assertTrue(aggregator.add(sample("M-2", 29, 3)).isEmpty());
+        assertEquals(2, aggregator.getLate().sum());
+        assertEquals(1, aggregator.size());
+
+        List<Sample> closed = aggregator.add(sample("M-1", 40, 4));
+        assertEquals(1, closed.size());
+        assertEquals(1, value(closed.get(0), "speed-count"));
+        assertEquals(2, value(closed.get(0), "speed-sum"));
+    }
+
+    @Test
+    public void testNewKey() {
+        WindowAggregator aggregator = aggregator(20, 10);
+        aggregator.add(sample("M-1", 35, 1));
+
+        // the window [10, 30) of the new key is closed, but [20, 40) is still open
+        assertTrue(aggregator.add(sample("M-2", 29, 2)).isEmpty());
+        assertEquals(0, aggregator.getLate().sum());
+
+        List<Sample> closed = aggregator.add(sample("M-1", 40, 3));
+        assertEquals(2, closed.size());
+        for (Sample window : closed) {
+            assertEquals(40, window.getTs());
+            assertEquals(1, value(window, "speed-count"));
+        }
+        assertEquals(2, value(closed.stream().filter(s -> s.getKey().equals("M-2")).findFirst().orElseThrow(), "speed-sum"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.linksfoundation.dq.core.benchmarks;
+
+import com.linksfoundation.dq.api.aggregator.service.AggregatorManager;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import com.linksfoundation.dq.core.aggregator.standard.config.AggregatorConfig;
+import com.linksfoundation.dq.core.aggregator.standard.join.JoinIndex;
+import com.linksfoundation.dq.core.common.config.ConfigWatcher;
+import com.linksfoundation.dq.core.aggregator.standard.service.StandardAggregatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures StandardAggregatorService.aggregate joining the samples of two datasets on a common key.
+ * Each invocation receives the sample of one dataset and emits the aggregated sample, as the sample of the other dataset
+ * with the same key is already stored; keys of the given cardinality are cycled through.
+ *
+ * Run with: gradle :benchmarks:jmh -Pjmh.includes=AggregatorBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatorBenchmark {
+
+    /**
+     * Exposes the compilation of the datasets, which the service runs at startup together with the Kafka consumer.
+    */
+    static class Service extends StandardAggregatorService {
+        Service(AggregatorManager manager, MeterRegistry registry, ReactiveKafkaProducerTemplate<String, byte[]> producer) {
+            super(manager, registry, producer);
+        }
+
+        AggregatorConfig datasets(String path) {
+            return this.compileConfig(path);
+        }
+    }
+
+    @Param({"4", "32"})
+    private int features;
+
+    @Param({"1", "16"})
+    private int length;
+
+    @Param({"1", "1000"})
+    private int keys;
+
+    private Service service;
+    private ConfigWatcher<AggregatorConfig> config;
+    private Sample[] samples;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        String yaml = """
+                name: bench-aggregator
+                datasets:
+                  - name: line
+                    key: join
+                  - name: station
+                    key: join
+                """;
+
+        service = new Service(Mockito.mock(AggregatorManager.class), new SimpleMeterRegistry(),
+                Fixtures.mock(ReactiveKafkaProducerTemplate.class));
+        config = new ConfigWatcher<>(Fixtures.config(yaml), service::datasets);
+        Fixtures.inject(service, "config", config);
+        Fixtures.inject(service, "index", new JoinIndex());
+
+        samples = new Sample[keys * 2];
+        for (int k = 0; k < keys; k++) {
+            for (int d = 0; d < 2; d++) {
+                Sample sample = Fixtures.sample(d == 0 ? "line" : "station", "key-" + k, features, length, k * 2L + d);
+                samples[k * 2 + d] = Sample.newBuilder(sample)
+                        .putStringData("join", StringArray.newBuilder().addElement("key-" + k).build())
+                        .build();
+                service.aggregate(samples[k * 2 + d]).blockLast();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        config.close();
+    }
+
+    @Benchmark
+    public List<Sample> aggregate() {
+        Sample sample = samples[next];
+        next = next + 1 == samples.length ? 0 : next + 1;
+        return service.aggregate(sample).collectList().block();
+    }
+}
@@ -0,0 +1,65 @@
+package com.linksfoundation.dq.core.benchmarks;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.processing.anonymization.service.AnonymizationManager;
+import com.linksfoundation.dq.core.processing.anonymization.standard.service.StandardAnonymizationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures StandardAnonymizationService.anonymize on samples of different sizes.
+ * The configuration normalizes every float feature, rotates the first two float features, pseudonymizes every string feature
+ * and suppresses every boolean feature.
+ *
+ * Run with: gradle :benchmarks:jmh -Pjmh.includes=AnonymizerBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnonymizerBenchmark {
+
+    @Param({"4", "32", "128"})
+    private int features;
+
+    @Param({"1", "16", "256"})
+    private int length;
+
+    private StandardAnonymizationService service;
+    private Sample sample;
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder yaml = new StringBuilder("name: bench-anonymization\nrules:\n");
+        yaml.append("  - name: rotation\n    feature: float_0\n    specs: {feature: float_1, theta: 0.5}\n");
+        for (int f = 0; f < features; f++) {
+            yaml.append("  - name: normalization\n    feature: float_%d\n    specs: {mean: 50, std: 25}\n".formatted(f));
+            yaml.append("  - name: pseudonymization\n    feature: string_%d\n    specs: {hashAlgorithm: SHA-256}\n".formatted(f));
+            yaml.append("  - name: suppression\n    feature: bool_%d\n".formatted(f));
+        }
+
+        service = new StandardAnonymizationService(Mockito.mock(AnonymizationManager.class), new SimpleMeterRegistry()) {};
+        Fixtures.inject(service, "configFile", Fixtures.config(yaml.toString()));
+        Fixtures.inject(service, "configReloadInterval", 0L);
+        service.compile();
+
+        sample = Fixtures.sample("bench", "key-1", features, length, 42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public List<Sample> anonymize() {
+        return service.anonymize(sample).collectList().block();
+    }
+}
@@ -0,0 +1,77 @@
+package com.linksfoundation.dq.core.benchmarks;
+
+import com.linksfoundation.dq.api.converter.service.ConverterManager;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import com.linksfoundation.dq.core.converter.standard.service.StandardInboundConverter;
+import com.linksfoundation.dq.core.converter.standard.service.StandardOutboundConverter;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON converters: StandardInboundConverter.convertIn parses an MQTT message with the given number of metrics
+ * of each data type (half of them nested one level down), and StandardOutboundConverter.convertOut serializes a sample
+ * with the same number of features.
+ *
+ * Run with: gradle :benchmarks:jmh -Pjmh.includes=ConverterBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"4", "32", "128"})
+    private int features;
+
+    private StandardInboundConverter inbound;
+    private StandardOutboundConverter outbound;
+    private Sample message;
+    private Sample sample;
+
+    @Setup
+    public void setup() {
+        ConverterManager manager = Mockito.mock(ConverterManager.class);
+        Mockito.when(manager.getInputState()).thenReturn("NEW");
+        inbound = new StandardInboundConverter(manager) {};
+        outbound = new StandardOutboundConverter(manager) {};
+
+        Random random = new Random(42);
+        StringBuilder metrics = new StringBuilder();
+        StringBuilder nested = new StringBuilder();
+        for (int f = 0; f < features; f++) {
+            StringBuilder target = f % 2 == 0 ? metrics : nested;
+            target.append("\"float_%d\": %s, \"string_%d\": \"%s\", \"bool_%d\": %b, ".formatted(
+                    f, Float.toString(random.nextFloat() * 100), f, Fixtures.CATEGORIES[random.nextInt(Fixtures.CATEGORIES.length)], f, random.nextBoolean()));
+        }
+        String json = """
+                {"timestamp": "%d", "sourceType": "plc", "sourceID": "bench", "infoType": "rawData", "dataType": "float",
+                 "dataItemID": "/plant/line/1/station/bench", "metricTypeID": "key-1", "measureUnit": "Map",
+                 "metricValue": {%s"nested": {%s"id": "n"}}}
+                """.formatted(System.currentTimeMillis(), metrics, nested);
+
+        message = Sample.newBuilder()
+                .setTs(System.currentTimeMillis())
+                .setState(Sample.States.RAW)
+                .putStringData("topic", StringArray.newBuilder().addElement("plc/bench").build())
+                .putStringData("JSON", StringArray.newBuilder().addElement(json).build())
+                .build();
+        sample = Fixtures.sample("bench", "key-1", features, 1, 42);
+    }
+
+    @Benchmark
+    public List<Sample> convertIn() {
+        return inbound.convertIn(message).collectList().block();
+    }
+
+    @Benchmark
+    public List<Sample> convertOut() {
+        return outbound.convertOut(sample).collectList().block();
+    }
+}
@@ -0,0 +1,112 @@
+package com.linksfoundation.dq.core.benchmarks;
+
+import com.linksfoundation.dq.api.model.BoolArray;
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Samples and configuration files shared by the benchmarks.
+ * A sample has the given number of features of each data type, named float_i, string_i and bool_i, each one with the given number
+ * of values; the values are generated from a fixed seed, so every run measures the same data.
+*/
+public final class Fixtures {
+
+    public static final String[] CATEGORIES = {"IDLE", "RUNNING", "STOPPED", "ERROR"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param dataset The dataset of the sample.
+     * @param key The key of the sample.
+     * @param features The number of features of each data type.
+     * @param length The number of values of each feature.
+     * @param seed The seed of the values.
+     *
+     * @return A sample in state NEW.
+    */
+    public static Sample sample(String dataset, String key, int features, int length, long seed) {
+        Random random = new Random(seed);
+        Sample.Builder builder = Sample.newBuilder()
+                .setTs(System.currentTimeMillis())
+                .setState(Sample.States.NEW)
+                .setKey(key)
+                .setDataset(dataset)
+                .putMetadata("sourceID", "bench")
+                .putMetadata("sourceType", "plc")
+                .putMetadata("dataType", "float")
+                .putMetadata("dataItemID", "/line/1/" + dataset);
+
+        for (int f = 0; f < features; f++) {
+            FloatArray.Builder floats = FloatArray.newBuilder();
+            StringArray.Builder strings = StringArray.newBuilder();
+            BoolArray.Builder bools = BoolArray.newBuilder();
+            for (int i = 0; i < length; i++) {
+                floats.addElement(random.nextFloat() * 100);
+                strings.addElement(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                bools.addElement(random.nextBoolean());
+            }
+            builder.putFloatData("float_" + f, floats.build())
+                    .putStringData("string_" + f, strings.build())
+                    .putBoolData("bool_" + f, bools.build());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param content The content of the configuration file.
+     *
+     * @return The path of a temporary file with the given content, deleted when the JVM exits.
+    */
+    public static String config(String content) throws IOException {
+        Path file = Files.createTempFile("dq-bench", ".yaml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, content);
+        return file.toString();
+    }
+
+    /**
+     * This method mocks a generic dependency of a service, e.g. a ReactiveKafkaProducerTemplate, as the type expected by the caller.
+     *
+     * @param type The raw class of the dependency.
+     *
+     * @return The mock.
+    */
+    @SuppressWarnings("unchecked")
+    public static <T> T mock(Class<?> type) {
+        return (T) Mockito.mock(type);
+    }
+
+    /**
+     * This method sets a field of a service that Spring would inject (e.g. a @Value property).
+     *
+     * @param target The service.
+     * @param name The name of the field, declared by the class of the service or by one of its superclasses.
+     * @param value The value of the field.
+    */
+    public static void inject(Object target, String name, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // declared by a superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        throw new IllegalArgumentException("Field %s not found in %s".formatted(name, target.getClass()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.linksfoundation.dq.core.benchmarks;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.Validation;
+import com.linksfoundation.dq.api.validator.service.ValidationManager;
+import com.linksfoundation.dq.core.validator.standard.service.StandardValidatorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures StandardValidatorService.check and validate on samples of different sizes.
+ * The configuration has a domain and a missing rule on every float feature, and a categorical, a regex and a strlen rule on every
+ * string feature, so the cost grows with the number of features and values of the sample.
+ *
+ * Run with: gradle :benchmarks:jmh -Pjmh.includes=ValidatorBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @Param({"4", "32", "128"})
+    private int features;
+
+    @Param({"1", "16", "256"})
+    private int length;
+
+    private StandardValidatorService service;
+    private Sample sample;
+    private List<Validation> validations;
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder yaml = new StringBuilder("name: bench-validator\nrules:\n");
+        for (int f = 0; f < features; f++) {
+            yaml.append("  - name: domain\n    feature: float_%d\n    specs: {min: 0, max: 100}\n".formatted(f));
+            yaml.append("  - name: missing\n    feature: float_%d\n".formatted(f));
+            yaml.append("  - name: categorical\n    feature: string_%d\n    specs: {values: [%s]}\n".formatted(f, String.join(", ", Fixtures.CATEGORIES)));
+            yaml.append("  - name: regex\n    feature: string_%d\n    specs: {regex: '[A-Z]+'}\n".formatted(f));
+            yaml.append("  - name: strlen\n    feature: string_%d\n    specs: {len: 8, lenType: LOWER}\n".formatted(f));
+        }
+
+        service = new StandardValidatorService(Mockito.mock(ValidationManager.class), new SimpleMeterRegistry(),
+                Fixtures.mock(ReactiveKafkaProducerTemplate.class)) {};
+        Fixtures.inject(service, "configFile", Fixtures.config(yaml.toString()));
+        Fixtures.inject(service, "configReloadInterval", 0L);
+        Fixtures.inject(service, "simd", true);
+        Fixtures.inject(service, "dictionaryIndexDir", System.getProperty("java.io.tmpdir"));
+        service.compile();
+
+        sample = Fixtures.sample("bench", "key-1", features, length, 42);
+        validations = service.check(sample).collectList().block();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public List<Validation> check() {
+        return service.check(sample).collectList().block();
+    }
+
+    @Benchmark
+    public Sample validate() {
+        return service.validate(sample, Flux.fromIterable(validations)).block();
+    }
+}
@@ -0,0 +1,76 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the vectorized FloatKernel on buffers of valid values, so that every element is scanned.
+ * The read benchmark measures the copy of a FloatArray into the buffer, which is paid once per feature.
+ *
+ * Run with: gradle :benchmarks:jmh -Pjmh.includes=FloatKernelBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class FloatKernelBenchmark {
+
+    @Param({"16", "256", "4096", "65536"})
+    private int length;
+
+    private FloatArray array;
+    private float[] values;
+    private final FloatKernel scalar = new ScalarFloatKernel();
+    private final FloatKernel vector = FloatKernels.select(true);
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        FloatArray.Builder builder = FloatArray.newBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.addElement(random.nextFloat() * 100);
+        }
+        array = builder.build();
+        values = FloatBuffers.read(array).clone();
+    }
+
+    @Benchmark
+    public float[] read() {
+        return FloatBuffers.read(array);
+    }
+
+    @Benchmark
+    public boolean scalarRange() {
+        return scalar.allInRange(values, length, 0, 100);
+    }
+
+    @Benchmark
+    public boolean vectorRange() {
+        return vector.allInRange(values, length, 0, 100);
+    }
+
+    @Benchmark
+    public boolean scalarNaN() {
+        return scalar.noneNaN(values, length);
+    }
+
+    @Benchmark
+    public boolean vectorNaN() {
+        return vector.noneNaN(values, length);
+    }
+
+    @Benchmark
+    public boolean scalarFinite() {
+        return scalar.allFinite(values, length);
+    }
+
+    @Benchmark
+    public boolean vectorFinite() {
+        return vector.allFinite(values, length);
+    }
+}
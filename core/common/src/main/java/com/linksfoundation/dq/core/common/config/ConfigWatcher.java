@@ -0,0 +1,166 @@
+package com.linksfoundation.dq.core.common.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * This class keeps a compiled configuration in sync with its YAML file.
+ * The file is polled on a background thread: when its content changes, the new configuration is compiled off the hot path
+ * and swapped in atomically. Readers that already got the previous configuration keep using it until they are done.
+ * If the new file cannot be compiled, the error is logged and the previous configuration stays active.
+ * It is shared by the services of the core, each one providing the compiler of its own configuration.
+ *
+ * @param <T> The type of the compiled configuration.
+*/
+@Slf4j
+public class ConfigWatcher<T> implements MeterBinder, AutoCloseable {
+
+    private final Path path;
+    private final Function<String, T> compiler;
+    private final Consumer<T> retired;
+    private final AtomicReference<T> current = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong checksum = new AtomicLong();
+    private long rejectedChecksum = -1;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates the watcher and compiles the configuration file for the first time.
+     * Errors of this first compilation are propagated, so that a wrong file makes the service fail at startup.
+     *
+     * @param path The path to the YAML configuration file.
+     * @param compiler The function that compiles the file at the given path.
+    */
+    public ConfigWatcher(String path, Function<String, T> compiler) {
+        this(path, compiler, previous -> { });
+    }
+
+    /**
+     * Creates the watcher and compiles the configuration file for the first time.
+     *
+     * @param path The path to the YAML configuration file.
+     * @param compiler The function that compiles the file at the given path.
+     * @param retired The function called with the previous configuration once a new one has been swapped in,
+     *                to release the resources that only the previous one holds.
+    */
+    public ConfigWatcher(String path, Function<String, T> compiler, Consumer<T> retired) {
+        this.path = Path.of(path);
+        this.compiler = compiler;
+        this.retired = retired;
+        this.checksum.set(this.computeChecksum());
+        this.current.set(compiler.apply(path));
+        this.version.set(1);
+    }
+
+    /**
+     * @return The configuration currently active.
+    */
+    public T get() {
+        return current.get();
+    }
+
+    /**
+     * @return The version of the configuration currently active, starting from 1 and incremented at every reload.
+    */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Starts polling the configuration file.
+     *
+     * @param interval The polling interval in milliseconds. A value lower or equal to 0 disables the reload.
+    */
+    public synchronized void start(long interval) {
+        if (interval <= 0 || executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "config-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::reload, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Watching {} for changes every {} ms", path, interval);
+    }
+
+    /**
+     * Compiles the configuration file again if its content changed since the last compilation.
+     * A content that failed to compile is not compiled again until the file changes.
+     *
+     * @return true if a new configuration has been swapped in, false otherwise.
+    */
+    public boolean reload() {
+        try {
+            long newChecksum = this.computeChecksum();
+            if (newChecksum == checksum.get() || newChecksum == rejectedChecksum) {
+                return false;
+            }
+
+            rejectedChecksum = newChecksum;
+            T compiled = compiler.apply(path.toString());
+            T previous = current.getAndSet(compiled);
+            checksum.set(newChecksum);
+            log.info("Configuration {} reloaded, version {}", path, version.incrementAndGet());
+            this.retire(previous);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Configuration {} not reloaded, version {} is still active: {}", path, version.get(), e.toString());
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("dq.config.version", version, AtomicLong::get)
+                .description("Version of the configuration currently active")
+                .tag("file", path.getFileName().toString())
+                .register(registry);
+        Gauge.builder("dq.config.checksum", checksum, AtomicLong::get)
+                .description("CRC32 of the configuration file currently active")
+                .tag("file", path.getFileName().toString())
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void retire(T previous) {
+        try {
+            retired.accept(previous);
+        } catch (RuntimeException e) {
+            log.error("Previous configuration {} not released: {}", path, e.toString());
+        }
+    }
+
+    private long computeChecksum() {
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(path));
+            return crc.getValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Configuration file %s not readable".formatted(path), e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.linksfoundation.dq.core.common.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigWatcherTest {
+
+    private static String read(String path) {
+        try {
+            String content = Files.readString(Path.of(path));
+            if (content.startsWith("broken")) {
+                throw new IllegalArgumentException(content);
+            }
+            return content;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void testReload(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("config.yaml");
+        Files.writeString(file, "first");
+
+        List<String> retired = new ArrayList<>();
+        try (ConfigWatcher<String> watcher = new ConfigWatcher<>(file.toString(), ConfigWatcherTest::read, retired::add)) {
+            assertEquals("first", watcher.get());
+            assertEquals(1, watcher.getVersion());
+            assertFalse(watcher.reload());
+
+            Files.writeString(file, "second");
+            assertTrue(watcher.reload());
+            assertEquals("second", watcher.get());
+            assertEquals(2, watcher.getVersion());
+            assertEquals(List.of("first"), retired);
+
+            Files.writeString(file, "broken");
+            assertFalse(watcher.reload());
+            assertEquals("second", watcher.get());
+            assertEquals(2, watcher.getVersion());
+            assertEquals(List.of("first"), retired);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.linksfoundation.dq.core.processing.anonymization.standard.compiler;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Immutable result of the compilation of a configuration file.
+ * It holds the name of the anonymizer and the compiled rules in the same order as the rules of the file.
+*/
+@Getter
+public class AnonymizationPlan {
+    private final String name;
+    private final List<CompiledRule> rules;
+
+    public AnonymizationPlan(String name, List<CompiledRule> rules) {
+        this.name = name;
+        this.rules = List.copyOf(rules);
+    }
+}
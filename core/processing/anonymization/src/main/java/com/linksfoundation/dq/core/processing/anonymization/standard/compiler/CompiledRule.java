@@ -0,0 +1,17 @@
+package com.linksfoundation.dq.core.processing.anonymization.standard.compiler;
+
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.Specs;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A rule of the configuration file whose specs have already been mapped to their schema.
+ * The specs are null for the rules that do not need them (e.g. suppression).
+*/
+@Getter
+@AllArgsConstructor
+public class CompiledRule {
+    private final String name;
+    private final String feature;
+    private final Specs specs;
+}
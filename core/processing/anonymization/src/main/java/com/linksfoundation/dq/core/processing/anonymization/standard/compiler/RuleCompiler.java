@@ -0,0 +1,105 @@
+package com.linksfoundation.dq.core.processing.anonymization.standard.compiler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.RuleBadFormatted;
+import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.RuleNotRecognized;
+import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.YamlBadFormatted;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.ConfigYaml;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.NormalizationSpecs;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.PseudonymizationSpecs;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.RotationSpecs;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.Rule;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.Specs;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * This class compiles the rules of a configuration file into an AnonymizationPlan.
+ * The YAML file and the specs of every rule are parsed once here instead of on every sample.
+*/
+@Slf4j
+public class RuleCompiler {
+
+    public static final String ROTATION_LABEL = "rotation";
+    public static final String NORMALIZATION_LABEL = "normalization";
+    public static final String SUPPRESSION_LABEL = "suppression";
+    public static final String PSEUDONYMIZATION_LABEL = "pseudonymization";
+
+    private final ObjectMapper yamlMapper;
+    private final ObjectMapper specsMapper;
+
+    public RuleCompiler() {
+        this.yamlMapper = new ObjectMapper(new YAMLFactory());
+        this.specsMapper = new ObjectMapper();
+        this.specsMapper.setSerializationInclusion(JsonInclude.Include.ALWAYS);
+    }
+
+    /**
+     * This method parses a YAML configuration file and compiles it.
+     *
+     * @param path The path to the YAML configuration file.
+     *
+     * @return The AnonymizationPlan of the configuration file.
+     *
+     * If a rule type is not recognized, it throws a RuleNotRecognized exception.
+    */
+    public AnonymizationPlan compile(String path) {
+        ConfigYaml yaml = this.parseYamlFile(path);
+        List<CompiledRule> rules = new LinkedList<>();
+        List<Rule> configRules = yaml.getRules() == null ? List.of() : yaml.getRules();
+
+        for (Rule rule : configRules) {
+            Specs specs = switch (rule.getName()) {
+                case ROTATION_LABEL -> this.parseYamlObject(rule.getSpecs(), RotationSpecs.class);
+                case NORMALIZATION_LABEL -> this.parseYamlObject(rule.getSpecs(), NormalizationSpecs.class);
+                case SUPPRESSION_LABEL -> null;
+                case PSEUDONYMIZATION_LABEL -> this.parseYamlObject(rule.getSpecs(), PseudonymizationSpecs.class);
+                default -> throw new RuleNotRecognized();
+            };
+            rules.add(new CompiledRule(rule.getName(), rule.getFeature(), specs));
+        }
+
+        log.info("Compiled {} rules of anonymizer {}", rules.size(), yaml.getName());
+        return new AnonymizationPlan(yaml.getName(), rules);
+    }
+
+    /**
+     * This method parses a YAML configuration file and returns a ConfigYaml object.
+     *
+     * @param path The path to the YAML configuration file.
+     *
+     * @return A ConfigYaml object that represents the configuration defined in the YAML file.
+    */
+    protected ConfigYaml parseYamlFile(String path) {
+        try {
+            File file = new File(path);
+            return yamlMapper.readValue(file, ConfigYaml.class);
+
+        } catch (IOException e) {
+            throw new YamlBadFormatted();
+        }
+    }
+
+    /**
+     * This method parses a YAML object and returns an instance of a specified class.
+     *
+     * @param specs The YAML object to be parsed. This is an instance of the Object class.
+     * @param schema The class that the YAML object should be mapped to.
+     *
+     * @return An instance of the specified class that represents the parsed YAML object.
+    */
+    protected Specs parseYamlObject(Object specs, Class<? extends Specs> schema) {
+        try {
+            byte[] json = specsMapper.writeValueAsBytes(specs);
+            return specsMapper.readValue(json, schema);
+        } catch (IOException e) {
+            throw new RuleBadFormatted();
+        }
+    }
+}
@@ -1,9 +1,5 @@
 package com.linksfoundation.dq.core.processing.anonymization.standard.service;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-
 import com.linksfoundation.dq.api.model.BoolArray;
 import com.linksfoundation.dq.api.model.FloatArray;
 import com.linksfoundation.dq.api.model.Sample;
@@ -11,30 +7,33 @@ import com.linksfoundation.dq.api.model.StringArray;
 import com.linksfoundation.dq.api.model.Sample.States;
 import com.linksfoundation.dq.api.processing.anonymization.service.AnonymizationManager;
 import com.linksfoundation.dq.api.processing.anonymization.service.AnonymizationService;
+import com.linksfoundation.dq.core.common.config.ConfigWatcher;
+import com.linksfoundation.dq.core.processing.anonymization.standard.compiler.AnonymizationPlan;
+import com.linksfoundation.dq.core.processing.anonymization.standard.compiler.CompiledRule;
+import com.linksfoundation.dq.core.processing.anonymization.standard.compiler.RuleCompiler;
 import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.RuleBadFormatted;
 import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.RuleNotRecognized;
-import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.YamlBadFormatted;
-import com.linksfoundation.dq.core.processing.anonymization.standard.schema.ConfigYaml;
 import com.linksfoundation.dq.core.processing.anonymization.standard.schema.NormalizationSpecs;
 import com.linksfoundation.dq.core.processing.anonymization.standard.schema.PseudonymizationSpecs;
 import com.linksfoundation.dq.core.processing.anonymization.standard.schema.RotationSpecs;
-import com.linksfoundation.dq.core.processing.anonymization.standard.schema.Rule;
-import com.linksfoundation.dq.core.processing.anonymization.standard.schema.Specs;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
-import java.io.File;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.LinkedList;
 import java.util.List;
 
+import static com.linksfoundation.dq.core.processing.anonymization.standard.compiler.RuleCompiler.*;
+
 /**
  * This class represents a StandardAnonymizationService that extends the AnonymizationService.
  * It provides methods to anonymize samples based on specified rules.
@@ -45,42 +44,42 @@ public class StandardAnonymizationService extends AnonymizationService {
 
     @Value(value = "${CONFIG_FILE}")
     private String configFile;
-    private static final String ROTATION_LABEL = "rotation";
-    private static final String NORMALIZATION_LABEL = "normalization";
-    private static final String SUPPRESSION_LABEL = "suppression";
-    private static final String PSEUDONYMIZATION_LABEL = "pseudonymization";
+    @Value(value = "${CONFIG_RELOAD_INTERVAL:5000}")
+    private long configReloadInterval;
+    private final MeterRegistry registry;
+    private ConfigWatcher<AnonymizationPlan> config;
 
-    protected StandardAnonymizationService(AnonymizationManager manager) {
+    protected StandardAnonymizationService(AnonymizationManager manager, MeterRegistry registry) {
         super(manager);
+        this.registry = registry;
     }
 
     /**
      * Anonymizes the provided sample based on the configured rules.
+     * The rules are read once from the active AnonymizationPlan, so a reload of the configuration never affects a sample
+     * that is already being anonymized.
      *
      * @param sample The sample to be anonymized.
      * @return A Flux emitting the anonymized sample.
     */
     @Override
     public Flux<Sample> anonymize(Sample sample) {
-        ConfigYaml yaml = this.parseYamlFile(configFile);
+        AnonymizationPlan plan = config.get();
 
         Sample newSample = Sample.newBuilder(sample).build();
-        for (Rule rule : yaml.getRules()) {
+        for (CompiledRule rule : plan.getRules()) {
             switch (rule.getName()) {
                 case ROTATION_LABEL:
-                    RotationSpecs rotationSpecs = (RotationSpecs) this.parseYamlObject(rule.getSpecs(), RotationSpecs.class);
-                    newSample = this.applyRotation(newSample, rule.getFeature(), rotationSpecs);
+                    newSample = this.applyRotation(newSample, rule.getFeature(), (RotationSpecs) rule.getSpecs());
                     break;
                 case NORMALIZATION_LABEL:
-                    NormalizationSpecs normalizationSpecs = (NormalizationSpecs) this.parseYamlObject(rule.getSpecs(), NormalizationSpecs.class);
-                    newSample = this.applyNormalization(newSample, rule.getFeature(), normalizationSpecs);
+                    newSample = this.applyNormalization(newSample, rule.getFeature(), (NormalizationSpecs) rule.getSpecs());
                     break;
                 case SUPPRESSION_LABEL:
                     newSample = this.applySuppression(newSample, rule.getFeature());
                     break;
                 case PSEUDONYMIZATION_LABEL:
-                    PseudonymizationSpecs pseudonymizationSpecs = (PseudonymizationSpecs) this.parseYamlObject(rule.getSpecs(), PseudonymizationSpecs.class);
-                    newSample = this.applyPseudonymization(newSample, rule.getFeature(), pseudonymizationSpecs);
+                    newSample = this.applyPseudonymization(newSample, rule.getFeature(), (PseudonymizationSpecs) rule.getSpecs());
                     break;
                 default:
                     throw new RuleNotRecognized();
@@ -93,42 +92,20 @@ public class StandardAnonymizationService extends AnonymizationService {
     }
 
     /**
-     * This method parses a YAML configuration file and returns a ConfigYaml object.
-     *
-     * @param path The path to the YAML configuration file.
-     *
-     * @return A ConfigYaml object that represents the configuration defined in the YAML file.
+     * This method compiles the YAML configuration file into the AnonymizationPlan used by {@link #anonymize(Sample)}
+     * and starts watching the file, so that changes to the rules are applied without restarting the service.
     */
-    protected ConfigYaml parseYamlFile(String path) {
-        ObjectMapper om = new ObjectMapper(new YAMLFactory());
-
-        try {
-            File file = new File(path);
-            return om.readValue(file, ConfigYaml.class);
-
-        } catch (IOException e) {
-            throw new YamlBadFormatted();
-        }
+    @PostConstruct
+    public void compile() {
+        RuleCompiler compiler = new RuleCompiler();
+        this.config = new ConfigWatcher<>(configFile, compiler::compile);
+        this.config.bindTo(registry);
+        this.config.start(configReloadInterval);
     }
 
-    /**
-     * This method parses a YAML object and returns an instance of a specified class.
-     *
-     * @param specs The YAML object to be parsed. This is an instance of the Object class.
-     * @param schema The class that the YAML object should be mapped to.
-     *
-     * @return An instance of the specified class that represents the parsed YAML object.
-    */
-    protected Object parseYamlObject(Object specs, Class<? extends Specs> schema) {
-        ObjectMapper om = new ObjectMapper();
-        om.setSerializationInclusion(JsonInclude.Include.ALWAYS);
-
-        try {
-            byte[] json = om.writeValueAsBytes(specs);
-            return om.readValue(json, schema);
-        } catch (IOException e) {
-            throw new RuleBadFormatted();
-        }
+    @PreDestroy
+    public void close() {
+        this.config.close();
     }
 
     /**
@@ -0,0 +1,91 @@
+package com.linksfoundation.dq.core.processing.anonymization.standard.compiler;
+
+import com.linksfoundation.dq.core.common.config.ConfigWatcher;
+import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.RuleNotRecognized;
+import com.linksfoundation.dq.core.processing.anonymization.standard.exceptions.YamlBadFormatted;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.NormalizationSpecs;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.PseudonymizationSpecs;
+import com.linksfoundation.dq.core.processing.anonymization.standard.schema.RotationSpecs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleCompilerTest {
+
+    private static final String CONFIG = """
+            name: plant-anonymization
+            rules:
+              - name: rotation
+                feature: x
+                specs:
+                  feature: y
+                  theta: 90
+              - name: normalization
+                feature: temperature
+                specs:
+                  mean: 20
+                  std: 5
+              - name: suppression
+                feature: operator
+              - name: pseudonymization
+                feature: machine
+                specs:
+                  hashAlgorithm: SHA-1
+            """;
+
+    private final RuleCompiler compiler = new RuleCompiler();
+
+    @Test
+    public void testCompile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("config.yaml");
+        Files.writeString(file, CONFIG);
+
+        AnonymizationPlan plan = compiler.compile(file.toString());
+        assertEquals("plant-anonymization", plan.getName());
+        assertEquals(List.of("rotation", "normalization", "suppression", "pseudonymization"),
+                plan.getRules().stream().map(CompiledRule::getName).toList());
+
+        RotationSpecs rotation = (RotationSpecs) plan.getRules().get(0).getSpecs();
+        assertEquals("y", rotation.getFeature());
+        assertEquals(90, rotation.getTheta());
+        NormalizationSpecs normalization = (NormalizationSpecs) plan.getRules().get(1).getSpecs();
+        assertEquals(20, normalization.getMean());
+        assertEquals(5, normalization.getStd());
+        assertNull(plan.getRules().get(2).getSpecs());
+        PseudonymizationSpecs pseudonymization = (PseudonymizationSpecs) plan.getRules().get(3).getSpecs();
+        assertEquals("SHA-1", pseudonymization.getHashAlgorithm());
+        assertTrue(pseudonymization.isFeatureValue());
+
+        Files.writeString(file, "rules:\n  - name: blur\n    feature: x\n");
+        assertThrows(RuleNotRecognized.class, () -> compiler.compile(file.toString()));
+        assertThrows(YamlBadFormatted.class, () -> compiler.compile(dir.resolve("missing.yaml").toString()));
+    }
+
+    @Test
+    public void testReload(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("config.yaml");
+        Files.writeString(file, CONFIG);
+
+        try (ConfigWatcher<AnonymizationPlan> watcher = new ConfigWatcher<>(file.toString(), compiler::compile)) {
+            assertEquals(4, watcher.get().getRules().size());
+
+            Files.writeString(file, "name: reloaded\nrules:\n  - name: suppression\n    feature: operator\n");
+            assertTrue(watcher.reload());
+            assertEquals("reloaded", watcher.get().getName());
+            assertEquals(1, watcher.get().getRules().size());
+            assertEquals(2, watcher.getVersion());
+
+            AnonymizationPlan active = watcher.get();
+            Files.writeString(file, "rules:\n  - name: blur\n    feature: x\n");
+            assertFalse(watcher.reload());
+            assertSame(active, watcher.get());
+            assertEquals(2, watcher.getVersion());
+        }
+    }
+}
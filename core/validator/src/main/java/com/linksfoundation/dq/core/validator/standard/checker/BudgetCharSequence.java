@@ -0,0 +1,52 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+/**
+ * CharSequence that counts the characters read by a regex matcher and aborts the matching when a budget is exceeded.
+ * The backtracking engine of java.util.regex reads the input through charAt, so the count bounds the work done on the value.
+*/
+class BudgetCharSequence implements CharSequence {
+
+    /**
+     * Thrown when the budget is exceeded. It carries no stack trace, since it is used for control flow.
+    */
+    static class BudgetExceeded extends RuntimeException {
+        BudgetExceeded() {
+            super("regex budget exceeded", null, false, false);
+        }
+    }
+
+    private static final BudgetExceeded EXCEEDED = new BudgetExceeded();
+
+    private final String value;
+    private final long budget;
+    private long reads;
+
+    BudgetCharSequence(String value, long budget) {
+        this.value = value;
+        this.budget = budget;
+    }
+
+    @Override
+    public int length() {
+        return value.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++reads > budget) {
+            throw EXCEEDED;
+        }
+
+        return value.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return value.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
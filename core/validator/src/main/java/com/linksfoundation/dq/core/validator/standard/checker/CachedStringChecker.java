@@ -0,0 +1,93 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the results of a string checker by value, for the features whose values repeat (e.g. status codes, device models).
+ * The cache is a two-way set-associative table of a fixed number of entries: a value can only be in the two slots of its set,
+ * so a lookup costs one hash and at most two comparisons. When both slots are taken, the entry with fewer hits is evicted
+ * and the hits of the other one are halved, so the frequent values stay and the old ones age out.
+ *
+ * The table is read and written without locks: the entries are immutable apart from their approximate hit count,
+ * so a thread sees either an entry or the previous one, and a lost update only costs a miss.
+*/
+@Getter
+public class CachedStringChecker implements StringChecker {
+
+    private static final class Entry {
+        private final String value;
+        private final boolean result;
+        private int hits;
+
+        private Entry(String value, boolean result) {
+            this.value = value;
+            this.result = result;
+        }
+    }
+
+    private final StringChecker delegate;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    @Getter(lombok.AccessLevel.NONE)
+    private final Entry[] entries;
+    @Getter(lombok.AccessLevel.NONE)
+    private final int mask;
+
+    /**
+     * @param delegate The checker whose results are cached.
+     * @param size The maximum number of cached values, rounded up to a power of two (at least 2).
+    */
+    public CachedStringChecker(StringChecker delegate, int size) {
+        this.delegate = delegate;
+        this.capacity = Math.max(2, Integer.highestOneBit(Math.max(1, size - 1)) << 1);
+        this.entries = new Entry[capacity];
+        this.mask = capacity / 2 - 1;
+    }
+
+    @Override
+    public String getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String getFeature() {
+        return delegate.getFeature();
+    }
+
+    @Override
+    public boolean test(String value) {
+        int hash = value.hashCode();
+        int slot = ((hash ^ (hash >>> 16)) & mask) << 1;
+        Entry first = entries[slot];
+        Entry second = entries[slot + 1];
+
+        if (first != null && first.value.equals(value)) {
+            first.hits++;
+            hits.increment();
+            return first.result;
+        }
+        if (second != null && second.value.equals(value)) {
+            second.hits++;
+            hits.increment();
+            return second.result;
+        }
+
+        misses.increment();
+        boolean result = delegate.test(value);
+        Entry entry = new Entry(value, result);
+        if (first == null || (second != null && first.hits <= second.hits)) {
+            entries[slot] = entry;
+            if (second != null) {
+                second.hits >>>= 1;
+            }
+        } else {
+            entries[slot + 1] = entry;
+            first.hits >>>= 1;
+        }
+
+        return result;
+    }
+}
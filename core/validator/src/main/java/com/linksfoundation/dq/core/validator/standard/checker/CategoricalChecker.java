@@ -0,0 +1,34 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.core.validator.standard.dictionary.MappedDictionary;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Checks that every value of a string feature belongs to a set of accepted categories,
+ * given inline and/or by a memory-mapped dictionary.
+*/
+@Getter
+public class CategoricalChecker implements StringChecker {
+    private final String type;
+    private final String feature;
+    private final Set<String> values;
+    private final MappedDictionary dictionary;
+
+    public CategoricalChecker(String type, String feature, Set<String> values) {
+        this(type, feature, values, null);
+    }
+
+    public CategoricalChecker(String type, String feature, Set<String> values, MappedDictionary dictionary) {
+        this.type = type;
+        this.feature = feature;
+        this.values = values;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public boolean test(String value) {
+        return values.contains(value) || (dictionary != null && dictionary.contains(value));
+    }
+}
@@ -0,0 +1,42 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.Sample;
+
+/**
+ * A compiled validation rule bound to a single feature.
+ * Checkers are built once from the configuration file and are immutable, so the same instance can be shared across threads.
+ * Implementations read the values of the feature through the primitive accessors of the arrays and stop at the first failing value,
+ * so no intermediate collection or boxed value is created.
+*/
+public interface Checker {
+
+    /**
+     * @return The label of the rule type (e.g. domain, strlen) as written in the configuration file.
+    */
+    String getType();
+
+    /**
+     * @return The feature of the sample the checker is applied to.
+    */
+    String getFeature();
+
+    /**
+     * This method applies the rule to a given sample.
+     *
+     * @param sample The sample to be checked. This is an instance of the Sample class.
+     *
+     * @return true if the sample satisfies the rule, false otherwise.
+    */
+    boolean check(Sample sample);
+
+    /**
+     * This method explains why a given sample does not satisfy the rule. It is only called on failures, so it does not need to be fast.
+     *
+     * @param sample The sample that failed the rule.
+     *
+     * @return The reason of the failure, or an empty string if the rule has nothing to add to its type and feature.
+    */
+    default String describe(Sample sample) {
+        return "";
+    }
+}
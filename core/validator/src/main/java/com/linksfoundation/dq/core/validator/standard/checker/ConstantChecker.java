@@ -0,0 +1,26 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.Sample;
+import lombok.Getter;
+
+/**
+ * A checker whose result does not depend on the sample, used for the rules that can be decided at compile time
+ * (e.g. a regex rule whose expression is not valid always fails).
+*/
+@Getter
+public class ConstantChecker implements Checker {
+    private final String type;
+    private final String feature;
+    private final boolean result;
+
+    public ConstantChecker(String type, String feature, boolean result) {
+        this.type = type;
+        this.feature = feature;
+        this.result = result;
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.schema.DatatypeSpecs;
+import lombok.Getter;
+
+/**
+ * Checks that a feature is present in the map of the expected data type and only in that one.
+*/
+@Getter
+public class DatatypeChecker implements Checker {
+    private final String type;
+    private final String feature;
+    private final DatatypeSpecs.Type dataType;
+
+    public DatatypeChecker(String type, String feature, DatatypeSpecs.Type dataType) {
+        this.type = type;
+        this.feature = feature;
+        this.dataType = dataType;
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        boolean isString = sample.getStringDataMap().containsKey(feature);
+        boolean isFloat = sample.getFloatDataMap().containsKey(feature);
+        boolean isBool = sample.getBoolDataMap().containsKey(feature);
+
+        return switch (dataType) {
+            case STRING -> isString && !isFloat && !isBool;
+            case INTEGER, FLOAT -> !isString && isFloat && !isBool;
+            case BOOLEAN -> !isString && !isFloat && isBool;
+        };
+    }
+}
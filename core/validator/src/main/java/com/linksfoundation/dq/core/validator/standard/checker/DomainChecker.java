@@ -0,0 +1,29 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import lombok.Getter;
+
+/**
+ * Checks that every value of a float feature falls within [min, max].
+ * A missing bound of the DomainSpecs is compiled to the corresponding infinity, so only one comparison path is needed.
+*/
+@Getter
+public class DomainChecker implements FloatChecker {
+    private final String type;
+    private final String feature;
+    private final float min;
+    private final float max;
+    private final FloatKernel kernel;
+
+    public DomainChecker(String type, String feature, float min, float max, FloatKernel kernel) {
+        this.type = type;
+        this.feature = feature;
+        this.min = min;
+        this.max = max;
+        this.kernel = kernel;
+    }
+
+    @Override
+    public boolean check(float[] values, int length) {
+        return kernel.allInRange(values, length, min, max);
+    }
+}
@@ -0,0 +1,36 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.state.RotatingBloomFilter;
+import lombok.Getter;
+
+/**
+ * Checks that a sample is not a duplicate of a sample seen in the last window (see {@link RotatingBloomFilter}).
+ * The samples are compared by fingerprint (see {@link Fingerprints}); a false positive makes a new sample fail, while a duplicate
+ * only passes if it is checked at the same time as the sample it duplicates.
+ * If drop is set, the duplicates are discarded by the validator instead of being forwarded with state FAIL.
+ * The feature of the rule is only used to report the result.
+*/
+@Getter
+public class DuplicateChecker implements StatefulChecker {
+    private final String type;
+    private final String feature;
+    private final RotatingBloomFilter filter;
+    private final String[] features;
+    private final boolean ts;
+    private final boolean drop;
+
+    public DuplicateChecker(String type, String feature, RotatingBloomFilter filter, String[] features, boolean ts, boolean drop) {
+        this.type = type;
+        this.feature = feature;
+        this.filter = filter;
+        this.features = features;
+        this.ts = ts;
+        this.drop = drop;
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        return !filter.add(Fingerprints.of(sample, features, ts));
+    }
+}
@@ -0,0 +1,62 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.expression.CompiledExpression;
+import lombok.Getter;
+
+/**
+ * Checks a condition across several float features of a sample (see {@link com.linksfoundation.dq.core.validator.standard.expression.ExpressionCompiler}).
+ * The expression is evaluated element by element: all the features must have the same number of values, or a single value
+ * that is used for every element. The rule fails if a feature is missing or if the lengths do not match.
+*/
+@Getter
+public class ExpressionChecker implements Checker {
+    private final String type;
+    private final String feature;
+    private final CompiledExpression expression;
+    private final ThreadLocal<FloatArray[]> arrays;
+    private final ThreadLocal<double[]> variables;
+
+    public ExpressionChecker(String type, String feature, CompiledExpression expression) {
+        this.type = type;
+        this.feature = feature;
+        this.expression = expression;
+        int size = expression.getVariables().length;
+        this.arrays = ThreadLocal.withInitial(() -> new FloatArray[size]);
+        this.variables = ThreadLocal.withInitial(() -> new double[size]);
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        String[] names = expression.getVariables();
+        FloatArray[] arrays = this.arrays.get();
+        double[] variables = this.variables.get();
+
+        int length = 1;
+        for (int v = 0; v < names.length; v++) {
+            FloatArray array = sample.getFloatDataMap().get(names[v]);
+            if (array == null || array.getElementCount() == 0) {
+                return false;
+            }
+            if (array.getElementCount() != 1) {
+                if (length != 1 && length != array.getElementCount()) {
+                    return false;
+                }
+                length = array.getElementCount();
+            }
+            arrays[v] = array;
+        }
+
+        for (int i = 0; i < length; i++) {
+            for (int v = 0; v < names.length; v++) {
+                variables[v] = arrays[v].getElementCount() == 1 ? arrays[v].getElement(0) : arrays[v].getElement(i);
+            }
+            if (!expression.test(variables)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.BoolArray;
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+
+import java.util.Map;
+
+/**
+ * 64-bit content hashes of the samples, used to detect duplicates.
+ * The hash of each feature is mixed with the hash of its name and the features are combined by addition, so the fingerprint does not depend
+ * on the order of the data maps. The values are read through the primitive accessors and nothing is allocated.
+*/
+public final class Fingerprints {
+
+    private Fingerprints() {
+    }
+
+    /**
+     * This method computes the fingerprint of a sample.
+     *
+     * @param sample The sample.
+     * @param features The features included in the fingerprint, or null to include all of them.
+     * @param ts Whether the timestamp of the sample is included in the fingerprint.
+     *
+     * @return The fingerprint, built from the key, the dataset, the selected features and possibly the timestamp of the sample.
+    */
+    public static long of(Sample sample, String[] features, boolean ts) {
+        long hash = mix(hash(sample.getKey()) * 31 + hash(sample.getDataset()));
+        if (ts) {
+            hash = mix(hash ^ sample.getTs());
+        }
+
+        if (features == null) {
+            for (Map.Entry<String, FloatArray> entry : sample.getFloatDataMap().entrySet()) {
+                hash += mix(hash(entry.getKey()) ^ hash(entry.getValue()));
+            }
+            for (Map.Entry<String, StringArray> entry : sample.getStringDataMap().entrySet()) {
+                hash += mix(hash(entry.getKey()) ^ hash(entry.getValue()));
+            }
+            for (Map.Entry<String, BoolArray> entry : sample.getBoolDataMap().entrySet()) {
+                hash += mix(hash(entry.getKey()) ^ hash(entry.getValue()));
+            }
+            return mix(hash);
+        }
+
+        for (String feature : features) {
+            long value;
+            if (sample.getFloatDataMap().containsKey(feature)) {
+                value = hash(sample.getFloatDataMap().get(feature));
+            } else if (sample.getStringDataMap().containsKey(feature)) {
+                value = hash(sample.getStringDataMap().get(feature));
+            } else if (sample.getBoolDataMap().containsKey(feature)) {
+                value = hash(sample.getBoolDataMap().get(feature));
+            } else {
+                continue;
+            }
+            hash += mix(hash(feature) ^ value);
+        }
+
+        return mix(hash);
+    }
+
+    private static long hash(String value) {
+        long h = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long hash(FloatArray array) {
+        long h = 1;
+        for (int i = 0; i < array.getElementCount(); i++) {
+            h = h * 0x100000001b3L + Float.floatToIntBits(array.getElement(i));
+        }
+        return mix(h);
+    }
+
+    private static long hash(StringArray array) {
+        long h = 2;
+        for (int i = 0; i < array.getElementCount(); i++) {
+            h = mix(h + hash(array.getElement(i)));
+        }
+        return h;
+    }
+
+    private static long hash(BoolArray array) {
+        long h = 3;
+        for (int i = 0; i < array.getElementCount(); i++) {
+            h = h * 0x100000001b3L + (array.getElement(i) ? 1 : 2);
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,38 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+
+/**
+ * Per-thread buffers used to read the values of a FloatArray once into a primitive array.
+ * The protobuf FloatArray does not expose its backing array, while the kernels need contiguous values.
+*/
+public final class FloatBuffers {
+
+    private static final ThreadLocal<float[]> BUFFER = ThreadLocal.withInitial(() -> new float[1024]);
+
+    private FloatBuffers() {
+    }
+
+    /**
+     * This method copies the values of an array into the buffer of the current thread.
+     * The buffer is overwritten by the next call on the same thread.
+     *
+     * @param array The array to be read.
+     *
+     * @return The buffer, whose first array.getElementCount() positions hold the values of the array.
+    */
+    public static float[] read(FloatArray array) {
+        int n = array.getElementCount();
+        float[] values = BUFFER.get();
+        if (values.length < n) {
+            values = new float[Math.max(n, values.length * 2)];
+            BUFFER.set(values);
+        }
+
+        for (int i = 0; i < n; i++) {
+            values[i] = array.getElement(i);
+        }
+
+        return values;
+    }
+}
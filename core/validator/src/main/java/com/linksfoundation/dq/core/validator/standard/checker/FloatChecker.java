@@ -0,0 +1,32 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+
+/**
+ * A checker of a float feature.
+ * The values are read from the sample once into a primitive buffer (see {@link FloatBuffers}) and shared by all the float
+ * checkers of the same feature.
+*/
+public interface FloatChecker extends Checker {
+
+    /**
+     * This method applies the rule to the values of the feature.
+     *
+     * @param values The buffer holding the values of the feature.
+     * @param length The number of values in the buffer.
+     *
+     * @return true if the values satisfy the rule, false otherwise.
+    */
+    boolean check(float[] values, int length);
+
+    @Override
+    default boolean check(Sample sample) {
+        FloatArray array = sample.getFloatDataMap().get(this.getFeature());
+        if (array == null) {
+            return false;
+        }
+
+        return this.check(FloatBuffers.read(array), array.getElementCount());
+    }
+}
@@ -0,0 +1,23 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+/**
+ * Numeric primitives used by the checkers of float features.
+ * Every method scans the first length values of the buffer and returns as soon as the answer is known.
+*/
+public interface FloatKernel {
+
+    /**
+     * @return true if every value is within [min, max]. NaN values are never within the range.
+    */
+    boolean allInRange(float[] values, int length, float min, float max);
+
+    /**
+     * @return true if there are no NaN values.
+    */
+    boolean noneNaN(float[] values, int length);
+
+    /**
+     * @return true if there are no NaN or infinite values.
+    */
+    boolean allFinite(float[] values, int length);
+}
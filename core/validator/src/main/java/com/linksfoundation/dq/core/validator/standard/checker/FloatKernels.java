@@ -0,0 +1,37 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class selects the FloatKernel used by the checkers.
+ * The vectorized kernel requires the JVM to be started with --add-modules jdk.incubator.vector: when the module is missing,
+ * or when SIMD is disabled, the scalar kernel is used.
+*/
+@Slf4j
+public final class FloatKernels {
+
+    private static final String VECTOR_KERNEL = "com.linksfoundation.dq.core.validator.standard.checker.VectorFloatKernel";
+
+    private FloatKernels() {
+    }
+
+    /**
+     * @param simd Whether the vectorized kernel should be used when available.
+     *
+     * @return The vectorized kernel if requested and available, the scalar kernel otherwise.
+    */
+    public static FloatKernel select(boolean simd) {
+        if (!simd) {
+            return new ScalarFloatKernel();
+        }
+
+        try {
+            FloatKernel kernel = (FloatKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            log.info("Using the vectorized float kernel");
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API not available, using the scalar float kernel: {}", e.toString());
+            return new ScalarFloatKernel();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.google.re2j.Pattern;
+import lombok.Getter;
+
+/**
+ * Checks that every value of a string feature fully matches a regular expression, using the RE2/J automaton-based engine.
+ * The matching time is linear in the length of the value whatever the expression, so no budget is needed.
+*/
+@Getter
+public class LinearRegexChecker implements StringChecker {
+    private final String type;
+    private final String feature;
+    private final Pattern pattern;
+
+    public LinearRegexChecker(String type, String feature, Pattern pattern) {
+        this.type = type;
+        this.feature = feature;
+        this.pattern = pattern;
+    }
+
+    @Override
+    public boolean test(String value) {
+        return pattern.matches(value);
+    }
+}
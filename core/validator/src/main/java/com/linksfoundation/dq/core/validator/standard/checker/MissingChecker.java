@@ -0,0 +1,27 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import lombok.Getter;
+
+/**
+ * Checks that a float feature is present and does not contain NaN values.
+ * When finite is set, infinite values are considered missing too.
+*/
+@Getter
+public class MissingChecker implements FloatChecker {
+    private final String type;
+    private final String feature;
+    private final boolean finite;
+    private final FloatKernel kernel;
+
+    public MissingChecker(String type, String feature, boolean finite, FloatKernel kernel) {
+        this.type = type;
+        this.feature = feature;
+        this.finite = finite;
+        this.kernel = kernel;
+    }
+
+    @Override
+    public boolean check(float[] values, int length) {
+        return finite ? kernel.allFinite(values, length) : kernel.noneNaN(values, length);
+    }
+}
@@ -0,0 +1,43 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.state.LastObservation;
+import com.linksfoundation.dq.core.validator.standard.state.StateStore;
+import lombok.Getter;
+
+/**
+ * Checks that the timestamps of the samples of the same key do not go backwards (or strictly increase, if strict).
+ * The state keeps the newest timestamp seen, so a single late sample does not make the following ones fail.
+ * The feature of the rule is only used to report the result.
+*/
+@Getter
+public class MonotonicChecker implements StatefulChecker {
+    private final String type;
+    private final String feature;
+    private final StateStore<LastObservation> observations;
+    private final boolean strict;
+
+    public MonotonicChecker(String type, String feature, StateStore<LastObservation> observations, boolean strict) {
+        this.type = type;
+        this.feature = feature;
+        this.observations = observations;
+        this.strict = strict;
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        LastObservation last = observations.get(sample.getKey());
+        synchronized (last) {
+            if (!last.isPresent()) {
+                last.set(sample.getTs(), 0);
+                return true;
+            }
+
+            long previous = last.getTs();
+            if (sample.getTs() > previous) {
+                last.set(sample.getTs(), 0);
+            }
+            return strict ? sample.getTs() > previous : sample.getTs() >= previous;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.state.LastObservation;
+import com.linksfoundation.dq.core.validator.standard.state.StateStore;
+import lombok.Getter;
+
+/**
+ * Checks that the change of a float feature between two consecutive samples of the same key does not exceed max units per second.
+ * The last value of the feature is compared with the last value of the previous sample; the first sample of a key,
+ * NaN values and samples not newer than the previous one are not checked.
+*/
+@Getter
+public class RateChecker implements StatefulChecker {
+    private final String type;
+    private final String feature;
+    private final StateStore<LastObservation> observations;
+    private final double max;
+
+    public RateChecker(String type, String feature, StateStore<LastObservation> observations, double max) {
+        this.type = type;
+        this.feature = feature;
+        this.observations = observations;
+        this.max = max;
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        FloatArray array = sample.getFloatDataMap().get(feature);
+        if (array == null) {
+            return false;
+        }
+        if (array.getElementCount() == 0) {
+            return true;
+        }
+
+        float value = array.getElement(array.getElementCount() - 1);
+        if (Float.isNaN(value)) {
+            return true;
+        }
+
+        LastObservation last = observations.get(sample.getKey());
+        synchronized (last) {
+            if (!last.isPresent()) {
+                last.set(sample.getTs(), value);
+                return true;
+            }
+            if (sample.getTs() <= last.getTs()) {
+                return true;
+            }
+
+            double rate = Math.abs(value - last.getValue()) * 1000.0 / (sample.getTs() - last.getTs());
+            last.set(sample.getTs(), value);
+            return rate <= max;
+        }
+    }
+}
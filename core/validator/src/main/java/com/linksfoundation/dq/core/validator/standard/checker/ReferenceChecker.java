@@ -0,0 +1,25 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.core.validator.standard.reference.ReferenceSet;
+import lombok.Getter;
+
+/**
+ * Checks that every value of a string feature is a key of a reference dataset (see {@link ReferenceSet}).
+*/
+@Getter
+public class ReferenceChecker implements StringChecker {
+    private final String type;
+    private final String feature;
+    private final ReferenceSet reference;
+
+    public ReferenceChecker(String type, String feature, ReferenceSet reference) {
+        this.type = type;
+        this.feature = feature;
+        this.reference = reference;
+    }
+
+    @Override
+    public boolean test(String value) {
+        return reference.contains(value);
+    }
+}
@@ -0,0 +1,42 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Checks that every value of a string feature fully matches a regular expression, using the backtracking engine of java.util.regex.
+ * When budget is greater than 0, a value whose matching reads more than budget characters fails the check instead of
+ * blocking the stream; the number of such values is counted in exceeded.
+ * A regex rule whose expression cannot be compiled is turned into a ConstantChecker that always fails.
+*/
+@Getter
+public class RegexChecker implements StringChecker {
+    private final String type;
+    private final String feature;
+    private final Pattern pattern;
+    private final long budget;
+    private final LongAdder exceeded = new LongAdder();
+
+    public RegexChecker(String type, String feature, Pattern pattern, long budget) {
+        this.type = type;
+        this.feature = feature;
+        this.pattern = pattern;
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean test(String value) {
+        if (budget <= 0) {
+            return pattern.matcher(value).matches();
+        }
+
+        try {
+            return pattern.matcher(new BudgetCharSequence(value, budget)).matches();
+        } catch (BudgetCharSequence.BudgetExceeded e) {
+            exceeded.increment();
+            return false;
+        }
+    }
+}
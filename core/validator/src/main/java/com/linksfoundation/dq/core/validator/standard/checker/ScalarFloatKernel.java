@@ -0,0 +1,41 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+/**
+ * FloatKernel that compares the values one by one.
+ * It is always available and it is used for short arrays also when the vectorized kernel is enabled.
+*/
+public class ScalarFloatKernel implements FloatKernel {
+
+    @Override
+    public boolean allInRange(float[] values, int length, float min, float max) {
+        for (int i = 0; i < length; i++) {
+            if (!(values[i] >= min && values[i] <= max)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean noneNaN(float[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            if (Float.isNaN(values[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean allFinite(float[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Float.isFinite(values[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
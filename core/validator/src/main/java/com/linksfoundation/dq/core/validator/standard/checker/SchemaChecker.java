@@ -0,0 +1,138 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.schema.DatatypeSpecs;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks the features of a whole sample against a schema in a single pass over the keys of its data maps.
+ * The expected features are numbered once at compilation; each key of the sample costs one lookup in that index and sets the bit of its
+ * feature, so a feature present in the wrong map or in two maps is detected when its bit is already set or its map does not match,
+ * and a required feature is missing when its bit is still clear at the end.
+ * INTEGER and FLOAT features are both expected in the float map.
+*/
+@Getter
+public class SchemaChecker implements Checker {
+
+    private static final byte FLOAT = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOL = 2;
+
+    private final String type;
+    private final String feature;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final String[] names;
+    private final byte[] maps;
+    private final long[] required;
+    private final boolean unexpected;
+    private final ThreadLocal<long[]> seen;
+
+    public SchemaChecker(String type, String feature, Map<String, DatatypeSpecs.Type> features, Set<String> missing, boolean unexpected) {
+        this.type = type;
+        this.feature = feature;
+        this.names = features.keySet().toArray(String[]::new);
+        this.maps = new byte[names.length];
+        this.required = new long[(names.length + 63) >>> 6];
+        this.unexpected = unexpected;
+
+        for (int i = 0; i < names.length; i++) {
+            index.put(names[i], i);
+            maps[i] = switch (features.get(names[i])) {
+                case INTEGER, FLOAT -> FLOAT;
+                case STRING -> STRING;
+                case BOOLEAN -> BOOL;
+            };
+            if (!missing.contains(names[i])) {
+                required[i >>> 6] |= 1L << i;
+            }
+        }
+
+        int words = required.length;
+        this.seen = ThreadLocal.withInitial(() -> new long[words]);
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        long[] seen = this.seen.get();
+        Arrays.fill(seen, 0);
+
+        return this.visit(sample.getFloatDataMap().keySet(), FLOAT, seen, null)
+                && this.visit(sample.getStringDataMap().keySet(), STRING, seen, null)
+                && this.visit(sample.getBoolDataMap().keySet(), BOOL, seen, null)
+                && this.missing(seen, null);
+    }
+
+    /**
+     * This method lists every difference between a sample and the schema.
+     *
+     * @param sample The sample checked.
+     *
+     * @return The missing, unexpected and wrongly typed features of the sample, or an empty string if it matches the schema.
+    */
+    @Override
+    public String describe(Sample sample) {
+        long[] seen = new long[required.length];
+        List<String> errors = new ArrayList<>();
+        this.visit(sample.getFloatDataMap().keySet(), FLOAT, seen, errors);
+        this.visit(sample.getStringDataMap().keySet(), STRING, seen, errors);
+        this.visit(sample.getBoolDataMap().keySet(), BOOL, seen, errors);
+        this.missing(seen, errors);
+
+        return String.join(", ", errors);
+    }
+
+    private boolean visit(Set<String> keys, byte map, long[] seen, List<String> errors) {
+        boolean valid = true;
+        for (String key : keys) {
+            Integer i = index.get(key);
+            if (i == null) {
+                if (unexpected) {
+                    continue;
+                }
+                valid = false;
+                if (errors == null) {
+                    return false;
+                }
+                errors.add("unexpected " + key);
+                continue;
+            }
+
+            long bit = 1L << i;
+            if (maps[i] != map || (seen[i >>> 6] & bit) != 0) {
+                valid = false;
+                if (errors == null) {
+                    return false;
+                }
+                errors.add("wrong type " + key);
+            }
+            seen[i >>> 6] |= bit;
+        }
+
+        return valid;
+    }
+
+    private boolean missing(long[] seen, List<String> errors) {
+        boolean valid = true;
+        for (int w = 0; w < required.length; w++) {
+            long absent = required[w] & ~seen[w];
+            if (absent != 0) {
+                valid = false;
+                if (errors == null) {
+                    return false;
+                }
+                for (long bits = absent; bits != 0; bits &= bits - 1) {
+                    errors.add("missing " + names[(w << 6) + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+        }
+
+        return valid;
+    }
+}
@@ -0,0 +1,9 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+/**
+ * A checker whose result depends on the previous samples with the same key (see {@link com.linksfoundation.dq.core.validator.standard.state.StateStore}).
+ * Unlike the other checkers, it updates its state on every sample, so it must be run on all the samples even when
+ * the validation stops at the first failing rule.
+*/
+public interface StatefulChecker extends Checker {
+}
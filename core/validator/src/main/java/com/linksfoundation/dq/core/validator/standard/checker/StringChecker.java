@@ -0,0 +1,34 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+
+/**
+ * A checker of a string feature that tests each value independently.
+ * This allows all the string checkers of the same feature to be applied in a single pass over its values.
+*/
+public interface StringChecker extends Checker {
+
+    /**
+     * @param value A value of the feature.
+     *
+     * @return true if the value satisfies the rule, false otherwise.
+    */
+    boolean test(String value);
+
+    @Override
+    default boolean check(Sample sample) {
+        StringArray array = sample.getStringDataMap().get(this.getFeature());
+        if (array == null) {
+            return false;
+        }
+
+        for (int i = 0, n = array.getElementCount(); i < n; i++) {
+            if (!this.test(array.getElement(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.core.validator.standard.schema.StrlenSpecs;
+import lombok.Getter;
+
+/**
+ * Checks that the length of every value of a string feature is equal to, lower or greater than a given length.
+*/
+@Getter
+public class StrlenChecker implements StringChecker {
+    private final String type;
+    private final String feature;
+    private final int len;
+    private final StrlenSpecs.Type lenType;
+
+    public StrlenChecker(String type, String feature, int len, StrlenSpecs.Type lenType) {
+        this.type = type;
+        this.feature = feature;
+        this.len = len;
+        this.lenType = lenType;
+    }
+
+    @Override
+    public boolean test(String value) {
+        int length = value.length();
+        return switch (lenType) {
+            case EXACT -> length == len;
+            case LOWER -> length < len;
+            case UPPER -> length > len;
+        };
+    }
+}
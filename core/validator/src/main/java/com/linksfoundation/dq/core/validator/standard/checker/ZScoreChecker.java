@@ -0,0 +1,53 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.state.RollingWindow;
+import com.linksfoundation.dq.core.validator.standard.state.StateStore;
+import lombok.Getter;
+
+/**
+ * Checks that every value of a float feature is within threshold standard deviations from the mean of the last values of the same key.
+ * The check is skipped until the window of the key holds minSamples values; NaN values are ignored (see {@link MissingChecker}).
+*/
+@Getter
+public class ZScoreChecker implements StatefulChecker {
+    private final String type;
+    private final String feature;
+    private final StateStore<RollingWindow> windows;
+    private final double threshold;
+    private final int minSamples;
+
+    public ZScoreChecker(String type, String feature, StateStore<RollingWindow> windows, double threshold, int minSamples) {
+        this.type = type;
+        this.feature = feature;
+        this.windows = windows;
+        this.threshold = threshold;
+        this.minSamples = minSamples;
+    }
+
+    @Override
+    public boolean check(Sample sample) {
+        FloatArray array = sample.getFloatDataMap().get(feature);
+        if (array == null) {
+            return false;
+        }
+
+        RollingWindow window = windows.get(sample.getKey());
+        boolean valid = true;
+        synchronized (window) {
+            for (int i = 0; i < array.getElementCount(); i++) {
+                float value = array.getElement(i);
+                if (Float.isNaN(value)) {
+                    continue;
+                }
+                if (window.count() >= minSamples && Math.abs(value - window.mean()) > threshold * window.std()) {
+                    valid = false;
+                }
+                window.add(value);
+            }
+        }
+
+        return valid;
+    }
+}
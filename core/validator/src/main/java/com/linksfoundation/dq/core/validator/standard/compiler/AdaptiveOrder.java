@@ -0,0 +1,112 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.checker.StatefulChecker;
+
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * This class finds the first failing checker of a plan, ordering the checkers so that the expected cost of finding it is minimal.
+ * For independent checkers, that is the ascending order of cost / failure rate: the cheap checkers that fail often run first.
+ *
+ * Both are moving averages measured on one sample out of every SAMPLE_EVERY, which runs every checker, so that the estimates are not
+ * biased by the checkers skipped after a failure; the order is recomputed after each of them. The other samples run the current order
+ * and stop at the first failure. The stateful checkers always run first and on every sample, since their state must see every sample.
+*/
+class AdaptiveOrder {
+
+    private static final int SAMPLE_EVERY = 64;
+    private static final double SMOOTHING = 0.05;
+    private static final double MIN_FAILURE_RATE = 1e-4;
+
+    private final int[] stateful;
+    private final int[] stateless;
+    private final Checker[] checkers;
+    private final double[] cost;
+    private final double[] failures;
+    private final AtomicLong counter = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int[] order;
+
+    AdaptiveOrder(List<Checker> checkers) {
+        List<Integer> stateful = new LinkedList<>();
+        List<Integer> stateless = new LinkedList<>();
+        for (int i = 0; i < checkers.size(); i++) {
+            (checkers.get(i) instanceof StatefulChecker ? stateful : stateless).add(i);
+        }
+
+        this.stateful = stateful.stream().mapToInt(Integer::intValue).toArray();
+        this.stateless = stateless.stream().mapToInt(Integer::intValue).toArray();
+        this.checkers = checkers.toArray(Checker[]::new);
+        this.cost = new double[this.checkers.length];
+        this.failures = new double[this.checkers.length];
+        this.order = this.stateless.clone();
+    }
+
+    /**
+     * @param sample The sample to be checked.
+     *
+     * @return The index of the first failing checker in the current order, or -1 if all the checkers passed.
+    */
+    int firstFailure(Sample sample) {
+        int failed = -1;
+        for (int i : stateful) {
+            if (!checkers[i].check(sample) && failed < 0) {
+                failed = i;
+            }
+        }
+        if (failed >= 0) {
+            return failed;
+        }
+
+        if (counter.getAndIncrement() % SAMPLE_EVERY == 0 && lock.tryLock()) {
+            try {
+                return this.measure(sample);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        for (int i : order) {
+            if (!checkers[i].check(sample)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The indexes of the stateless checkers, in the order they are currently run.
+    */
+    int[] order() {
+        return order.clone();
+    }
+
+    private int measure(Sample sample) {
+        int failed = -1;
+        for (int i : order) {
+            long start = System.nanoTime();
+            boolean valid = checkers[i].check(sample);
+            long elapsed = System.nanoTime() - start;
+
+            cost[i] = cost[i] == 0 ? elapsed : cost[i] + SMOOTHING * (elapsed - cost[i]);
+            failures[i] += SMOOTHING * ((valid ? 0 : 1) - failures[i]);
+            if (!valid && failed < 0) {
+                failed = i;
+            }
+        }
+
+        this.order = IntStream.of(stateless)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> cost[i] / Math.max(failures[i], MIN_FAILURE_RATE)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return failed;
+    }
+}
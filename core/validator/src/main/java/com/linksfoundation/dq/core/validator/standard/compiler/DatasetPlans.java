@@ -0,0 +1,119 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable lookup table from the dataset of a sample to the ValidationPlan of its rules.
+ * A dataset is looked up by name first, then against the glob patterns in the order of the file; the datasets that match
+ * neither get the default plan. The plans of the datasets matched by a pattern are cached, so the patterns are tried once per dataset.
+*/
+public class DatasetPlans {
+
+    public static final String DEFAULT_DATASET = "default";
+
+    private static final int MAX_RESOLVED = 4096;
+
+    @Getter
+    private final ValidationPlan defaultPlan;
+    private final Map<String, ValidationPlan> names = new LinkedHashMap<>();
+    private final Map<String, ValidationPlan> globs = new LinkedHashMap<>();
+    private final Pattern[] patterns;
+    private final ValidationPlan[] globPlans;
+    private final Map<String, ValidationPlan> resolved = new ConcurrentHashMap<>();
+    @Getter
+    private final List<ValidationPlan> plans;
+
+    /**
+     * @param defaultPlan The plan of the datasets not matched by any key.
+     * @param datasets The plans by dataset name or glob pattern, in the order of the file.
+    */
+    public DatasetPlans(ValidationPlan defaultPlan, Map<String, ValidationPlan> datasets) {
+        this.defaultPlan = defaultPlan;
+        datasets.forEach((key, plan) -> (isGlob(key) ? globs : names).put(key, plan));
+        this.patterns = globs.keySet().stream().map(DatasetPlans::toPattern).toArray(Pattern[]::new);
+        this.globPlans = globs.values().toArray(ValidationPlan[]::new);
+
+        this.plans = new ArrayList<>(datasets.size() + 1);
+        this.plans.add(defaultPlan);
+        this.plans.addAll(datasets.values());
+    }
+
+    /**
+     * @param dataset The dataset of a sample.
+     *
+     * @return The plan of the dataset.
+    */
+    public ValidationPlan get(String dataset) {
+        ValidationPlan plan = names.get(dataset);
+        if (plan != null) {
+            return plan;
+        }
+        if (patterns.length == 0) {
+            return defaultPlan;
+        }
+
+        plan = resolved.get(dataset);
+        if (plan == null) {
+            plan = this.match(dataset);
+            if (resolved.size() < MAX_RESOLVED) {
+                resolved.put(dataset, plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * This method derives a table with the same keys from this one.
+     *
+     * @param mapper The function applied to every plan.
+     *
+     * @return The table of the mapped plans.
+    */
+    public DatasetPlans map(UnaryOperator<ValidationPlan> mapper) {
+        Map<String, ValidationPlan> datasets = new LinkedHashMap<>();
+        names.forEach((key, plan) -> datasets.put(key, mapper.apply(plan)));
+        globs.forEach((key, plan) -> datasets.put(key, mapper.apply(plan)));
+        return new DatasetPlans(mapper.apply(defaultPlan), datasets);
+    }
+
+    private ValidationPlan match(String dataset) {
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i].matcher(dataset).matches()) {
+                return globPlans[i];
+            }
+        }
+        return defaultPlan;
+    }
+
+    private static boolean isGlob(String key) {
+        return key.indexOf('*') >= 0 || key.indexOf('?') >= 0;
+    }
+
+    private static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
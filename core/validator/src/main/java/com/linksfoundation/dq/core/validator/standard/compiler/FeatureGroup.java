@@ -0,0 +1,44 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.Sample;
+
+/**
+ * The checkers of a ValidationPlan that read the same feature from the same data map.
+ * Grouping them lets the plan look the feature up once per sample, and read its values once, whatever the number of rules on it.
+ * Each checker keeps the index of its rule, so the results are reported in the order of the configuration file.
+*/
+abstract class FeatureGroup {
+
+    protected final String feature;
+    protected final int[] indexes;
+
+    protected FeatureGroup(String feature, int[] indexes) {
+        this.feature = feature;
+        this.indexes = indexes;
+    }
+
+    /**
+     * This method runs all the checkers of the group on a given sample.
+     *
+     * @param sample The sample to be checked.
+     * @param results The array where the result of each checker is stored at the index of its rule.
+     *
+     * @return true if all the checkers of the group passed, false otherwise.
+    */
+    abstract boolean evaluate(Sample sample, boolean[] results);
+
+    /**
+     * This method checks whether a given sample satisfies all the checkers of the group, stopping at the first failure.
+     *
+     * @param sample The sample to be checked.
+     *
+     * @return true if all the checkers of the group passed, false otherwise.
+    */
+    abstract boolean isValid(Sample sample);
+
+    protected void fail(boolean[] results) {
+        for (int index : indexes) {
+            results[index] = false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.checker.FloatBuffers;
+import com.linksfoundation.dq.core.validator.standard.checker.FloatChecker;
+
+/**
+ * Group of the checkers of a float feature: the values are copied once into the buffer of the thread and every checker runs on it.
+*/
+class FloatFeatureGroup extends FeatureGroup {
+
+    private final FloatChecker[] checkers;
+
+    FloatFeatureGroup(String feature, int[] indexes, FloatChecker[] checkers) {
+        super(feature, indexes);
+        this.checkers = checkers;
+    }
+
+    @Override
+    boolean evaluate(Sample sample, boolean[] results) {
+        FloatArray array = sample.getFloatDataMap().get(feature);
+        if (array == null) {
+            this.fail(results);
+            return false;
+        }
+
+        float[] values = FloatBuffers.read(array);
+        int length = array.getElementCount();
+        boolean valid = true;
+        for (int k = 0; k < checkers.length; k++) {
+            results[indexes[k]] = checkers[k].check(values, length);
+            valid &= results[indexes[k]];
+        }
+
+        return valid;
+    }
+
+    @Override
+    boolean isValid(Sample sample) {
+        FloatArray array = sample.getFloatDataMap().get(feature);
+        if (array == null) {
+            return false;
+        }
+
+        float[] values = FloatBuffers.read(array);
+        int length = array.getElementCount();
+        for (FloatChecker checker : checkers) {
+            if (!checker.check(values, length)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,596 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.linksfoundation.dq.core.validator.standard.checker.*;
+import com.linksfoundation.dq.core.validator.standard.dictionary.MappedDictionary;
+import com.linksfoundation.dq.core.validator.standard.exceptions.RuleBadFormatted;
+import com.linksfoundation.dq.core.validator.standard.expression.CompiledExpression;
+import com.linksfoundation.dq.core.validator.standard.expression.ExpressionCompiler;
+import com.linksfoundation.dq.core.validator.standard.reference.ReferenceSet;
+import com.linksfoundation.dq.core.validator.standard.reference.ReferenceSets;
+import com.linksfoundation.dq.core.validator.standard.exceptions.RuleNotRecognized;
+import com.linksfoundation.dq.core.validator.standard.exceptions.YamlBadFormatted;
+import com.linksfoundation.dq.core.validator.standard.schema.*;
+import com.linksfoundation.dq.core.validator.standard.state.LastObservation;
+import com.linksfoundation.dq.core.validator.standard.state.RollingWindow;
+import com.linksfoundation.dq.core.validator.standard.state.RotatingBloomFilter;
+import com.linksfoundation.dq.core.validator.standard.state.StateStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * This class compiles the rules of a configuration file into a ValidationPlan.
+ * All the parsing work (YAML decoding, specs mapping, regex compilation) is done here once,
+ * so that the validation of a sample only has to run the resulting checkers.
+*/
+@Slf4j
+public class RuleCompiler {
+
+    public static final String DOMAIN_LABEL = "domain";
+    public static final String STRLEN_LABEL = "strlen";
+    public static final String DATATYPE_LABEL = "datatype";
+    public static final String CATEGORICAL_LABEL = "categorical";
+    public static final String MISSING_LABEL = "missing";
+    public static final String REGEX_LABEL = "regex";
+    public static final String ZSCORE_LABEL = "zscore";
+    public static final String RATE_LABEL = "rate";
+    public static final String MONOTONIC_LABEL = "monotonic";
+    public static final String DUPLICATE_LABEL = "duplicate";
+    public static final String EXPRESSION_LABEL = "expression";
+    public static final String SCHEMA_LABEL = "schema";
+    public static final String REFERENCE_LABEL = "reference";
+
+    private final ObjectMapper yamlMapper;
+    private final ObjectMapper specsMapper;
+    private final FloatKernel kernel;
+    private final Path dictionaryIndexDir;
+    private final ReferenceSets references;
+    private final ExpressionCompiler expressionCompiler = new ExpressionCompiler();
+    private Map<String, Object> states = new HashMap<>();
+    private Map<String, Object> compiling;
+    private Map<String, Object> artifacts = new HashMap<>();
+    private Map<String, Object> compilingArtifacts;
+    private String scope = "";
+
+    public RuleCompiler() {
+        this(new ScalarFloatKernel());
+    }
+
+    /**
+     * @param kernel The FloatKernel used by the checkers of float features (see {@link FloatKernels}).
+    */
+    public RuleCompiler(FloatKernel kernel) {
+        this(kernel, Path.of(System.getProperty("java.io.tmpdir"), "dq-dictionaries"));
+    }
+
+    /**
+     * @param kernel The FloatKernel used by the checkers of float features (see {@link FloatKernels}).
+     * @param dictionaryIndexDir The directory where the indexes of the categorical dictionaries are stored.
+    */
+    public RuleCompiler(FloatKernel kernel, Path dictionaryIndexDir) {
+        this(kernel, dictionaryIndexDir, new ReferenceSets(null));
+    }
+
+    /**
+     * @param kernel The FloatKernel used by the checkers of float features (see {@link FloatKernels}).
+     * @param dictionaryIndexDir The directory where the indexes of the categorical dictionaries are stored.
+     * @param references The reference sets of the reference rules.
+    */
+    public RuleCompiler(FloatKernel kernel, Path dictionaryIndexDir, ReferenceSets references) {
+        this.kernel = kernel;
+        this.dictionaryIndexDir = dictionaryIndexDir;
+        this.references = references;
+        this.yamlMapper = new ObjectMapper(new YAMLFactory());
+        this.specsMapper = new ObjectMapper();
+        this.specsMapper.setSerializationInclusion(JsonInclude.Include.ALWAYS);
+    }
+
+    /**
+     * This method parses a YAML configuration file and compiles it.
+     *
+     * @param path The path to the YAML configuration file.
+     *
+     * @return The ValidationPlan of the rules of the file, without the rules by dataset (see {@link #compileDatasets(String)}).
+    */
+    public ValidationPlan compile(String path) {
+        return this.compile(this.parseYamlFile(path));
+    }
+
+    /**
+     * This method compiles every rule of a configuration into a checker.
+     *
+     * @param yaml The configuration to be compiled.
+     *
+     * @return The ValidationPlan of the rules of the configuration, with one checker for each rule in the same order of the file.
+     *         The rules by dataset are not compiled (see {@link #compileDatasets(ConfigYaml)}).
+     *
+     * If a rule type is not recognized, it throws a RuleNotRecognized exception.
+     * If the specs of a rule cannot be mapped to the expected schema, it throws a RuleBadFormatted exception.
+     *
+     * The stateful rules that did not change since the previous compilation keep their state, so a reload does not reset them.
+    */
+    public synchronized ValidationPlan compile(ConfigYaml yaml) {
+        this.compiling = new HashMap<>();
+        this.compilingArtifacts = new HashMap<>();
+        try {
+            ValidationPlan plan = this.compileRules(yaml.getName(), null, yaml.getRules());
+            this.states = this.compiling;
+            this.artifacts = this.compilingArtifacts;
+            references.acquire(referenceSets(List.of(plan)));
+            return plan;
+        } catch (RuntimeException e) {
+            references.closeUnused();
+            throw e;
+        } finally {
+            this.compiling = null;
+            this.compilingArtifacts = null;
+        }
+    }
+
+    /**
+     * This method parses a YAML configuration file and compiles the rules of every dataset.
+     *
+     * @param path The path to the YAML configuration file.
+     *
+     * @return The DatasetPlans of the file.
+    */
+    public DatasetPlans compileDatasets(String path) {
+        return this.compileDatasets(this.parseYamlFile(path));
+    }
+
+    /**
+     * This method compiles the rules of a configuration into a lookup table by dataset.
+     *
+     * @param yaml The configuration to be compiled.
+     *
+     * @return The DatasetPlans of the configuration: a ValidationPlan for each key of datasets, and the plan of rules for the other datasets.
+     *
+     * It throws the exceptions of {@link #compile(ConfigYaml)}. The state of a stateful rule is bound to its dataset key,
+     * so the same rule declared for two datasets gets two states, and reordering the datasets in the file does not swap them.
+     * The reference sets of the plans stay open until the plans are released (see {@link #release(DatasetPlans)}).
+    */
+    public synchronized DatasetPlans compileDatasets(ConfigYaml yaml) {
+        Map<String, ValidationPlan> datasets = new LinkedHashMap<>();
+        DatasetPlans plans;
+
+        this.compiling = new HashMap<>();
+        this.compilingArtifacts = new HashMap<>();
+        try {
+            ValidationPlan defaultPlan = this.compileRules(yaml.getName(), null, yaml.getRules());
+            if (yaml.getDatasets() != null) {
+                yaml.getDatasets().forEach((dataset, rules) ->
+                        datasets.put(dataset, this.compileRules(yaml.getName(), dataset, rules)));
+            }
+            plans = new DatasetPlans(defaultPlan, datasets);
+            this.states = this.compiling;
+            this.artifacts = this.compilingArtifacts;
+            references.acquire(referenceSets(plans.getPlans()));
+        } catch (RuntimeException e) {
+            references.closeUnused();
+            throw e;
+        } finally {
+            this.compiling = null;
+            this.compilingArtifacts = null;
+        }
+
+        return plans;
+    }
+
+    /**
+     * This method releases the plans of a configuration replaced by a newer one,
+     * closing the reference sets that the newer configuration does not use anymore.
+     * The checkers of the released plans keep answering with the last keys read, so a sample still validated with them is not affected.
+     *
+     * @param plans The plans replaced, as returned by {@link #compileDatasets(ConfigYaml)}.
+    */
+    public void release(DatasetPlans plans) {
+        references.release(referenceSets(plans.getPlans()));
+    }
+
+    /**
+     * @param plans The plans of a configuration.
+     *
+     * @return The distinct reference sets read by the checkers of the plans.
+    */
+    private static Set<ReferenceSet> referenceSets(List<ValidationPlan> plans) {
+        Set<ReferenceSet> sets = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ValidationPlan plan : plans) {
+            for (Checker checker : plan.getCheckers()) {
+                if (checker instanceof ReferenceChecker referenceChecker) {
+                    sets.add(referenceChecker.getReference());
+                }
+            }
+        }
+        return sets;
+    }
+
+    /**
+     * This method compiles the rules of a dataset within a compilation (see {@link #compile(ConfigYaml)}).
+     *
+     * @param name The name of the validator.
+     * @param dataset The dataset key of the rules, or null for the rules of every other dataset.
+     * @param rules The rules to be compiled, possibly null.
+     *
+     * @return The ValidationPlan of the rules.
+    */
+    private ValidationPlan compileRules(String name, String dataset, List<Rule> rules) {
+        List<Checker> checkers = new LinkedList<>();
+
+        this.scope = dataset == null ? "" : dataset + ":";
+        try {
+            for (Rule rule : rules == null ? List.<Rule>of() : rules) {
+                checkers.add(this.compileRule(rule));
+            }
+        } finally {
+            this.scope = "";
+        }
+
+        if (dataset == null) {
+            log.info("Compiled {} rules of validator {}", checkers.size(), name);
+            return new ValidationPlan(name, checkers);
+        }
+        log.info("Compiled {} rules of validator {} for dataset {}", checkers.size(), name, dataset);
+        return new ValidationPlan(name, dataset, checkers);
+    }
+
+    /**
+     * This method compiles a single rule into the checker of its type.
+     *
+     * @param rule The rule to be compiled.
+     *
+     * @return The checker of the rule.
+    */
+    protected Checker compileRule(Rule rule) {
+        String feature = rule.getFeature();
+
+        switch (rule.getName()) {
+            case DOMAIN_LABEL:
+                DomainSpecs domainSpecs = (DomainSpecs) this.parseYamlObject(rule.getSpecs(), DomainSpecs.class);
+                return new DomainChecker(DOMAIN_LABEL, feature,
+                        domainSpecs.getMin() == null ? Float.NEGATIVE_INFINITY : domainSpecs.getMin(),
+                        domainSpecs.getMax() == null ? Float.POSITIVE_INFINITY : domainSpecs.getMax(),
+                        kernel);
+            case STRLEN_LABEL:
+                StrlenSpecs strlenSpecs = (StrlenSpecs) this.parseYamlObject(rule.getSpecs(), StrlenSpecs.class);
+                if (strlenSpecs.getLen() == null || strlenSpecs.getLenType() == null) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires len and lenType".formatted(STRLEN_LABEL, feature));
+                }
+                return new StrlenChecker(STRLEN_LABEL, feature, strlenSpecs.getLen(), strlenSpecs.getLenType());
+            case DATATYPE_LABEL:
+                DatatypeSpecs datatypeSpecs = (DatatypeSpecs) this.parseYamlObject(rule.getSpecs(), DatatypeSpecs.class);
+                if (datatypeSpecs.getType() == null) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires type".formatted(DATATYPE_LABEL, feature));
+                }
+                return new DatatypeChecker(DATATYPE_LABEL, feature, datatypeSpecs.getType());
+            case CATEGORICAL_LABEL:
+                CategoricalSpecs categoricalSpecs = (CategoricalSpecs) this.parseYamlObject(rule.getSpecs(), CategoricalSpecs.class);
+                return this.cache(new CategoricalChecker(CATEGORICAL_LABEL, feature,
+                        categoricalSpecs.getValues() == null ? Set.of() : new HashSet<>(categoricalSpecs.getValues()),
+                        this.openDictionary(feature, categoricalSpecs)), categoricalSpecs.getCache());
+            case MISSING_LABEL:
+                MissingSpecs missingSpecs = (MissingSpecs) this.parseYamlObject(rule.getSpecs(), MissingSpecs.class);
+                return new MissingChecker(MISSING_LABEL, feature, missingSpecs != null && missingSpecs.isFinite(), kernel);
+            case REGEX_LABEL:
+                RegexSpecs regexSpecs = (RegexSpecs) this.parseYamlObject(rule.getSpecs(), RegexSpecs.class);
+                Checker regexChecker = this.compileRegex(feature, regexSpecs);
+                return regexChecker instanceof StringChecker stringChecker ? this.cache(stringChecker, regexSpecs.getCache()) : regexChecker;
+            case ZSCORE_LABEL:
+                ZScoreSpecs zscoreSpecs = (ZScoreSpecs) this.parseYamlObject(rule.getSpecs(), ZScoreSpecs.class);
+                if (zscoreSpecs == null) {
+                    zscoreSpecs = ZScoreSpecs.builder().build();
+                }
+                if (zscoreSpecs.getWindow() < 2) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires a window of at least 2 values".formatted(ZSCORE_LABEL, feature));
+                }
+                this.checkIdleTimeout(ZSCORE_LABEL, feature, zscoreSpecs.getIdleTimeout());
+                int window = zscoreSpecs.getWindow();
+                return new ZScoreChecker(ZSCORE_LABEL, feature,
+                        this.stateStore("%s/%s/%d/%d".formatted(ZSCORE_LABEL, feature, window, zscoreSpecs.getIdleTimeout()),
+                                () -> new RollingWindow(window), zscoreSpecs.getIdleTimeout()),
+                        zscoreSpecs.getThreshold(), Math.max(2, zscoreSpecs.getMinSamples()));
+            case RATE_LABEL:
+                RateSpecs rateSpecs = (RateSpecs) this.parseYamlObject(rule.getSpecs(), RateSpecs.class);
+                if (rateSpecs == null || rateSpecs.getMax() == null) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires max".formatted(RATE_LABEL, feature));
+                }
+                this.checkIdleTimeout(RATE_LABEL, feature, rateSpecs.getIdleTimeout());
+                return new RateChecker(RATE_LABEL, feature,
+                        this.stateStore("%s/%s/%d".formatted(RATE_LABEL, feature, rateSpecs.getIdleTimeout()),
+                                LastObservation::new, rateSpecs.getIdleTimeout()),
+                        rateSpecs.getMax());
+            case MONOTONIC_LABEL:
+                MonotonicSpecs monotonicSpecs = (MonotonicSpecs) this.parseYamlObject(rule.getSpecs(), MonotonicSpecs.class);
+                if (monotonicSpecs == null) {
+                    monotonicSpecs = MonotonicSpecs.builder().build();
+                }
+                this.checkIdleTimeout(MONOTONIC_LABEL, feature, monotonicSpecs.getIdleTimeout());
+                return new MonotonicChecker(MONOTONIC_LABEL, feature,
+                        this.stateStore("%s/%s/%d".formatted(MONOTONIC_LABEL, feature, monotonicSpecs.getIdleTimeout()),
+                                LastObservation::new, monotonicSpecs.getIdleTimeout()),
+                        monotonicSpecs.isStrict());
+            case DUPLICATE_LABEL:
+                DuplicateSpecs duplicateSpecs = (DuplicateSpecs) this.parseYamlObject(rule.getSpecs(), DuplicateSpecs.class);
+                if (duplicateSpecs == null) {
+                    duplicateSpecs = DuplicateSpecs.builder().build();
+                }
+                if (duplicateSpecs.getWindow() <= 0 || duplicateSpecs.getExpected() <= 0
+                        || duplicateSpecs.getFpp() <= 0 || duplicateSpecs.getFpp() >= 1) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires positive window and expected, and fpp in (0, 1)".formatted(DUPLICATE_LABEL, feature));
+                }
+                DuplicateSpecs filterSpecs = duplicateSpecs;
+                String duplicateFeature = feature == null ? DUPLICATE_LABEL : feature;
+                return new DuplicateChecker(DUPLICATE_LABEL, duplicateFeature,
+                        this.state("%s/%s/%d/%d/%s".formatted(DUPLICATE_LABEL, duplicateFeature,
+                                        filterSpecs.getWindow(), filterSpecs.getExpected(), filterSpecs.getFpp()),
+                                () -> new RotatingBloomFilter(filterSpecs.getExpected(), filterSpecs.getFpp(), filterSpecs.getWindow())),
+                        duplicateSpecs.getFeatures() == null ? null : duplicateSpecs.getFeatures().toArray(String[]::new),
+                        duplicateSpecs.isIncludeTs(), duplicateSpecs.isDrop());
+            case EXPRESSION_LABEL:
+                ExpressionSpecs expressionSpecs = (ExpressionSpecs) this.parseYamlObject(rule.getSpecs(), ExpressionSpecs.class);
+                if (expressionSpecs == null || expressionSpecs.getExpression() == null) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires expression".formatted(EXPRESSION_LABEL, feature));
+                }
+                return this.compileExpression(feature, expressionSpecs);
+            case SCHEMA_LABEL:
+                SchemaSpecs schemaSpecs = (SchemaSpecs) this.parseYamlObject(rule.getSpecs(), SchemaSpecs.class);
+                if (schemaSpecs == null || schemaSpecs.getFeatures() == null || schemaSpecs.getFeatures().containsValue(null)) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires the type of every feature".formatted(SCHEMA_LABEL, feature));
+                }
+                return new SchemaChecker(SCHEMA_LABEL, feature == null ? SCHEMA_LABEL : feature, schemaSpecs.getFeatures(),
+                        schemaSpecs.getMissing() == null ? Set.of() : new HashSet<>(schemaSpecs.getMissing()),
+                        schemaSpecs.isUnexpected());
+            case REFERENCE_LABEL:
+                ReferenceSpecs referenceSpecs = (ReferenceSpecs) this.parseYamlObject(rule.getSpecs(), ReferenceSpecs.class);
+                if (referenceSpecs == null || (referenceSpecs.getFile() == null) == (referenceSpecs.getTopic() == null)) {
+                    throw new RuleBadFormatted("Rule %s on feature %s requires either file or topic".formatted(REFERENCE_LABEL, feature));
+                }
+                return new ReferenceChecker(REFERENCE_LABEL, feature, this.openReference(feature, referenceSpecs));
+            default:
+                throw new RuleNotRecognized();
+        }
+    }
+
+    /**
+     * This method parses a YAML configuration file and returns a ConfigYaml object.
+     *
+     * @param path The path to the YAML configuration file.
+     *
+     * @return A ConfigYaml object that represents the configuration defined in the YAML file.
+    */
+    protected ConfigYaml parseYamlFile(String path) {
+        try {
+            File file = new File(path);
+            return yamlMapper.readValue(file, ConfigYaml.class);
+
+        } catch (IOException e) {
+            throw new YamlBadFormatted();
+        }
+    }
+
+    /**
+     * This method parses a YAML object and returns an instance of a specified class.
+     *
+     * @param specs The YAML object to be parsed. This is an instance of the Object class.
+     * @param schema The class that the YAML object should be mapped to.
+     *
+     * @return An instance of the specified class that represents the parsed YAML object.
+    */
+    protected Object parseYamlObject(Object specs, Class<? extends Specs> schema) {
+        try {
+            byte[] json = specsMapper.writeValueAsBytes(specs);
+            return specsMapper.readValue(json, schema);
+        } catch (IOException e) {
+            throw new RuleBadFormatted();
+        }
+    }
+
+    /**
+     * This method compiles a regex rule with the engine of its specs.
+     * The patterns are cached by expression, so rules sharing an expression, and the reloads of the configuration, compile it once
+     * (see {@link #artifact(String, String, Function)}).
+     *
+     * @param feature The feature of the rule.
+     * @param specs The specs of the rule.
+     *
+     * @return The checker of the rule. If the expression is not valid for the engine, the rule always fails.
+     *
+     * If the specs have no expression, it throws a RuleBadFormatted exception.
+    */
+    protected Checker compileRegex(String feature, RegexSpecs specs) {
+        if (specs == null || specs.getRegex() == null) {
+            throw new RuleBadFormatted("Rule %s on feature %s requires regex".formatted(REGEX_LABEL, feature));
+        }
+
+        String regex = specs.getRegex();
+        try {
+            if (specs.getEngine() == RegexSpecs.Engine.LINEAR) {
+                return new LinearRegexChecker(REGEX_LABEL, feature,
+                        this.artifact("regex/linear", regex, com.google.re2j.Pattern::compile));
+            }
+            return new RegexChecker(REGEX_LABEL, feature, this.artifact("regex", regex, Pattern::compile), specs.getBudget());
+        }
+        catch (PatternSyntaxException | com.google.re2j.PatternSyntaxException e) {
+            log.error("Regex {} is not valid, the rule will always fail", regex);
+            return new ConstantChecker(REGEX_LABEL, feature, false);
+        }
+    }
+
+    /**
+     * This method wraps a string checker in a cache of its results, if the rule asks for one.
+     *
+     * @param checker The checker of the rule.
+     * @param size The size of the cache of the rule; 0 or less disables the cache.
+     *
+     * @return The checker, cached if size is positive.
+    */
+    protected Checker cache(StringChecker checker, int size) {
+        return size > 0 ? new CachedStringChecker(checker, size) : checker;
+    }
+
+    /**
+     * This method compiles an expression rule.
+     * The expressions are cached by source, so the reloads of the configuration compile them once (see {@link #artifact(String, String, Function)}).
+     *
+     * @param feature The feature the result is reported on; if it is not set, the expression itself is used.
+     * @param specs The specs of the rule.
+     *
+     * @return The checker of the rule.
+     *
+     * If the expression is not valid, it throws a RuleBadFormatted exception.
+    */
+    protected Checker compileExpression(String feature, ExpressionSpecs specs) {
+        try {
+            CompiledExpression expression = this.artifact("expression", specs.getExpression(), expressionCompiler::compile);
+            return new ExpressionChecker(EXPRESSION_LABEL, feature == null ? specs.getExpression() : feature, expression);
+        }
+        catch (IllegalArgumentException e) {
+            throw new RuleBadFormatted(e.getMessage());
+        }
+    }
+
+    /**
+     * This method maps the dictionary of a categorical rule, building its index if needed.
+     *
+     * @param feature The feature of the rule.
+     * @param specs The specs of the rule.
+     *
+     * @return The dictionary, or null if the rule does not have one.
+    */
+    protected MappedDictionary openDictionary(String feature, CategoricalSpecs specs) {
+        if (specs.getDictionary() == null) {
+            return null;
+        }
+
+        try {
+            return MappedDictionary.open(Path.of(specs.getDictionary()), dictionaryIndexDir, specs.getBloomFpp());
+        }
+        catch (IOException e) {
+            throw new RuleBadFormatted("Dictionary %s of rule %s on feature %s cannot be read".formatted(
+                    specs.getDictionary(), CATEGORICAL_LABEL, feature));
+        }
+    }
+
+    /**
+     * This method opens the reference set of a reference rule, or returns the one already opened for its file or topic.
+     *
+     * @param feature The feature of the rule.
+     * @param specs The specs of the rule.
+     *
+     * @return The reference set.
+    */
+    protected ReferenceSet openReference(String feature, ReferenceSpecs specs) {
+        try {
+            return specs.getFile() != null
+                    ? references.file(Path.of(specs.getFile()), specs.getRefresh())
+                    : references.topic(specs.getTopic(), specs.getTimeout());
+        }
+        catch (IOException | IllegalStateException e) {
+            throw new RuleBadFormatted("Reference of rule %s on feature %s cannot be opened: %s".formatted(REFERENCE_LABEL, feature, e.getMessage()));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuleBadFormatted("Reference of rule %s on feature %s not loaded".formatted(REFERENCE_LABEL, feature));
+        }
+    }
+
+    /**
+     * This method rejects the idle timeout of a stateful rule if it is not positive, since the states would be evicted continuously.
+     *
+     * @param label The type of the rule.
+     * @param feature The feature of the rule.
+     * @param idleTimeout The idle timeout of the rule, in milliseconds.
+    */
+    private void checkIdleTimeout(String label, String feature, long idleTimeout) {
+        if (idleTimeout <= 0) {
+            throw new RuleBadFormatted("Rule %s on feature %s requires a positive idleTimeout".formatted(label, feature));
+        }
+    }
+
+    /**
+     * This method returns the state store of a stateful rule, reusing the one of the previous compilation if the rule did not change.
+     *
+     * @param id The identifier of the rule (see {@link #state(String, Supplier)}).
+     * @param factory The supplier of the initial state of a key.
+     * @param idleTimeout The number of milliseconds after which the state of an idle key is evicted.
+     *
+     * @return The state store of the rule.
+    */
+    protected <S extends StateStore.Entry> StateStore<S> stateStore(String id, Supplier<S> factory, long idleTimeout) {
+        return this.state(id, () -> new StateStore<>(factory, idleTimeout));
+    }
+
+    /**
+     * This method returns the state of a stateful rule, reusing the one of the previous compilation if the rule did not change.
+     *
+     * @param id The identifier of the rule, made of its type, its feature and the specs that shape its state.
+     *           Identical rules of the same configuration get distinct states, numbered in the order of the file.
+     *           The id is prefixed with the dataset key of the rule, if any.
+     * @param factory The supplier of the state, called if the rule is new.
+     *
+     * @return The state of the rule.
+    */
+    @SuppressWarnings("unchecked")
+    protected <T> T state(String id, Supplier<T> factory) {
+        id = scope + id;
+        String key = id;
+        for (int n = 2; compiling != null && compiling.containsKey(key); n++) {
+            key = id + "#" + n;
+        }
+
+        Object state = states.get(key);
+        if (state == null) {
+            state = factory.get();
+        }
+        if (compiling != null) {
+            compiling.put(key, state);
+        }
+
+        return (T) state;
+    }
+
+    /**
+     * This method returns the compiled form of a source shared by the rules, such as a regex or an expression.
+     * The artifacts used by a compilation are kept until the next one, so a reload only compiles the sources that changed,
+     * and the sources no longer in the configuration are released instead of accumulating across reloads.
+     *
+     * @param kind The kind of the artifact, distinguishing the artifacts compiled differently from the same source.
+     * @param source The source to be compiled.
+     * @param compiler The function compiling the source.
+     *
+     * @return The compiled artifact.
+    */
+    @SuppressWarnings("unchecked")
+    protected <T> T artifact(String kind, String source, Function<String, T> compiler) {
+        String key = kind + "/" + source;
+        Object artifact = compilingArtifacts == null ? null : compilingArtifacts.get(key);
+        if (artifact == null) {
+            artifact = artifacts.get(key);
+        }
+        if (artifact == null) {
+            artifact = compiler.apply(source);
+        }
+        if (compilingArtifacts != null) {
+            compilingArtifacts.put(key, artifact);
+        }
+
+        return (T) artifact;
+    }
+}
@@ -0,0 +1,39 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+
+/**
+ * Group of the checkers that need the whole sample (e.g. datatype), which are simply run one after the other.
+*/
+class SampleGroup extends FeatureGroup {
+
+    protected final Checker[] checkers;
+
+    SampleGroup(int[] indexes, Checker[] checkers) {
+        super(null, indexes);
+        this.checkers = checkers;
+    }
+
+    @Override
+    boolean evaluate(Sample sample, boolean[] results) {
+        boolean valid = true;
+        for (int k = 0; k < checkers.length; k++) {
+            results[indexes[k]] = checkers[k].check(sample);
+            valid &= results[indexes[k]];
+        }
+
+        return valid;
+    }
+
+    @Override
+    boolean isValid(Sample sample) {
+        for (Checker checker : checkers) {
+            if (!checker.check(sample)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
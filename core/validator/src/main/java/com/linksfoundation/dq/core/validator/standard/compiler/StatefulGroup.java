@@ -0,0 +1,25 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+
+/**
+ * Group of the stateful checkers (see {@link com.linksfoundation.dq.core.validator.standard.checker.StatefulChecker}).
+ * Every checker runs on every sample, also in fail-fast mode, so that their state never misses a sample.
+*/
+class StatefulGroup extends SampleGroup {
+
+    StatefulGroup(int[] indexes, Checker[] checkers) {
+        super(indexes, checkers);
+    }
+
+    @Override
+    boolean isValid(Sample sample) {
+        boolean valid = true;
+        for (Checker checker : checkers) {
+            valid &= checker.check(sample);
+        }
+
+        return valid;
+    }
+}
@@ -0,0 +1,64 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import com.linksfoundation.dq.core.validator.standard.checker.StringChecker;
+
+/**
+ * Group of the checkers of a string feature: the values are scanned once and each value is tested by all the checkers
+ * that have not failed yet.
+*/
+class StringFeatureGroup extends FeatureGroup {
+
+    private final StringChecker[] checkers;
+
+    StringFeatureGroup(String feature, int[] indexes, StringChecker[] checkers) {
+        super(feature, indexes);
+        this.checkers = checkers;
+    }
+
+    @Override
+    boolean evaluate(Sample sample, boolean[] results) {
+        StringArray array = sample.getStringDataMap().get(feature);
+        if (array == null) {
+            this.fail(results);
+            return false;
+        }
+
+        for (int index : indexes) {
+            results[index] = true;
+        }
+
+        int passing = checkers.length;
+        for (int i = 0, n = array.getElementCount(); i < n && passing > 0; i++) {
+            String value = array.getElement(i);
+            for (int k = 0; k < checkers.length; k++) {
+                if (results[indexes[k]] && !checkers[k].test(value)) {
+                    results[indexes[k]] = false;
+                    passing--;
+                }
+            }
+        }
+
+        return passing == checkers.length;
+    }
+
+    @Override
+    boolean isValid(Sample sample) {
+        StringArray array = sample.getStringDataMap().get(feature);
+        if (array == null) {
+            return false;
+        }
+
+        for (int i = 0, n = array.getElementCount(); i < n; i++) {
+            String value = array.getElement(i);
+            for (StringChecker checker : checkers) {
+                if (!checker.test(value)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,191 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.checker.DuplicateChecker;
+import com.linksfoundation.dq.core.validator.standard.checker.FloatChecker;
+import com.linksfoundation.dq.core.validator.standard.checker.StatefulChecker;
+import com.linksfoundation.dq.core.validator.standard.checker.StringChecker;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable result of the compilation of a configuration file.
+ * It holds the name of the validator, the dataset key the rules were declared for (see {@link DatasetPlans})
+ * and the checkers in the same order as the rules of the file. Its id is a checksum of the names of the validator, the dataset and the rules,
+ * so the same rules get the same id across reloads and restarts.
+ *
+ * At construction the checkers are indexed by data type and feature (see {@link FeatureGroup}), so that the evaluation
+ * of a sample costs one map lookup per feature with rules instead of one per rule, and the features without rules are never read.
+*/
+@Getter
+public class ValidationPlan {
+    private final String name;
+    private final String dataset;
+    private final String id;
+    private final List<Checker> checkers;
+    @Getter(AccessLevel.NONE)
+    private final FeatureGroup[] groups;
+    @Getter(AccessLevel.NONE)
+    private final Set<String> dropping;
+    @Getter(AccessLevel.NONE)
+    private final AdaptiveOrder adaptiveOrder;
+
+    public ValidationPlan(String name, List<Checker> checkers) {
+        this(name, DatasetPlans.DEFAULT_DATASET, checkers);
+    }
+
+    public ValidationPlan(String name, String dataset, List<Checker> checkers) {
+        this.name = name;
+        this.dataset = dataset;
+        this.checkers = List.copyOf(checkers);
+        this.id = checksum(name, dataset, this.checkers);
+        this.groups = this.index(this.checkers);
+        this.dropping = this.checkers.stream()
+                .filter(checker -> checker instanceof DuplicateChecker duplicate && duplicate.isDrop())
+                .map(Checker::getFeature)
+                .collect(Collectors.toUnmodifiableSet());
+        this.adaptiveOrder = new AdaptiveOrder(this.checkers);
+    }
+
+    /**
+     * @return true if the plan has rules whose failure discards the sample (see {@link DuplicateChecker}).
+    */
+    public boolean isDropping() {
+        return !dropping.isEmpty();
+    }
+
+    /**
+     * @param type The type of a failed rule.
+     * @param feature The feature of a failed rule.
+     *
+     * @return true if the failure of the rule discards the sample.
+    */
+    public boolean drops(String type, String feature) {
+        return RuleCompiler.DUPLICATE_LABEL.equals(type) && dropping.contains(feature);
+    }
+
+    /**
+     * This method runs every checker of the plan on a given sample.
+     *
+     * @param sample The sample to be checked.
+     * @param results The array filled with the result of each checker, in the same order of {@link #getCheckers()}.
+     *                Its length must be at least the number of checkers.
+     *
+     * @return true if all the checkers passed, false otherwise.
+    */
+    public boolean evaluate(Sample sample, boolean[] results) {
+        boolean valid = true;
+        for (FeatureGroup group : groups) {
+            valid &= group.evaluate(sample, results);
+        }
+
+        return valid;
+    }
+
+    /**
+     * This method checks whether a given sample satisfies every checker of the plan.
+     * It stops at the first failing checker.
+     *
+     * @param sample The sample to be checked.
+     *
+     * @return true if all the checkers passed, false otherwise.
+    */
+    public boolean isValid(Sample sample) {
+        for (FeatureGroup group : groups) {
+            if (!group.isValid(sample)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * This method runs the checkers of the plan on a given sample until one fails, in the order that finds a failure at the lowest
+     * expected cost (see {@link AdaptiveOrder}). Unlike {@link #isValid(Sample)}, it always runs the stateful checkers.
+     *
+     * @param sample The sample to be checked.
+     *
+     * @return The index of the first failing checker in {@link #getCheckers()}, or -1 if all the checkers passed.
+    */
+    public int firstFailure(Sample sample) {
+        return adaptiveOrder.firstFailure(sample);
+    }
+
+    /**
+     * @return The indexes of the stateless checkers in the order currently used by {@link #firstFailure(Sample)}.
+    */
+    int[] failFastOrder() {
+        return adaptiveOrder.order();
+    }
+
+    /**
+     * This method groups the checkers by the data map they read and by feature.
+     *
+     * @param checkers The checkers of the plan.
+     *
+     * @return The groups of the plan: the stateful checkers first, so that they see every sample even when {@link #isValid(Sample)}
+     *         stops early, then float features, string features and the checkers that need the whole sample.
+    */
+    private FeatureGroup[] index(List<Checker> checkers) {
+        Map<String, List<Integer>> floats = new LinkedHashMap<>();
+        Map<String, List<Integer>> strings = new LinkedHashMap<>();
+        List<Integer> others = new LinkedList<>();
+        List<Integer> stateful = new LinkedList<>();
+
+        for (int i = 0; i < checkers.size(); i++) {
+            Checker checker = checkers.get(i);
+            if (checker instanceof StatefulChecker) {
+                stateful.add(i);
+            } else if (checker instanceof FloatChecker) {
+                floats.computeIfAbsent(checker.getFeature(), f -> new LinkedList<>()).add(i);
+            } else if (checker instanceof StringChecker) {
+                strings.computeIfAbsent(checker.getFeature(), f -> new LinkedList<>()).add(i);
+            } else {
+                others.add(i);
+            }
+        }
+
+        List<FeatureGroup> groups = new LinkedList<>();
+        if (!stateful.isEmpty()) {
+            groups.add(new StatefulGroup(toArray(stateful), stateful.stream().map(checkers::get).toArray(Checker[]::new)));
+        }
+        floats.forEach((feature, indexes) -> groups.add(new FloatFeatureGroup(
+                feature, toArray(indexes), indexes.stream().map(checkers::get).toArray(FloatChecker[]::new))));
+        strings.forEach((feature, indexes) -> groups.add(new StringFeatureGroup(
+                feature, toArray(indexes), indexes.stream().map(checkers::get).toArray(StringChecker[]::new))));
+        if (!others.isEmpty()) {
+            groups.add(new SampleGroup(toArray(others), others.stream().map(checkers::get).toArray(Checker[]::new)));
+        }
+
+        return groups.toArray(FeatureGroup[]::new);
+    }
+
+    private static String checksum(String name, String dataset, List<Checker> checkers) {
+        CRC32 crc = new CRC32();
+        crc.update(String.valueOf(name).getBytes(StandardCharsets.UTF_8));
+        crc.update(0);
+        crc.update(String.valueOf(dataset).getBytes(StandardCharsets.UTF_8));
+        for (Checker checker : checkers) {
+            crc.update(0);
+            crc.update(String.valueOf(checker.getType()).getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+            crc.update(String.valueOf(checker.getFeature()).getBytes(StandardCharsets.UTF_8));
+        }
+        return "%08x".formatted(crc.getValue());
+    }
+
+    private static int[] toArray(List<Integer> indexes) {
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,64 @@
+package com.linksfoundation.dq.core.validator.standard.dictionary;
+
+/**
+ * Layout of the index files of the dictionaries, shared by the builder and the reader.
+ *
+ * An index file is made of:
+ * - a header: magic, version, number of entries, number of slots, number of words and hash functions of the Bloom filter,
+ *   offset of the data section;
+ * - the Bloom filter, as an array of longs (empty when disabled);
+ * - the hash table, a power of two number of slots with linear probing; each slot holds the mixed hash of the value
+ *   and the offset of the value in the data section plus one (0 marks an empty slot);
+ * - the data section, where each value is stored as an int header followed by its characters: one byte per character when
+ *   they are all Latin-1 (header = length), two bytes per character otherwise (header = length | UTF16_FLAG).
+ *
+ * All the numbers are big-endian, as written by java.nio.ByteBuffer.
+*/
+final class DictionaryIndex {
+
+    static final int MAGIC = 0x44514449;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int SLOT_SIZE = 8;
+    static final int UTF16_FLAG = 0x80000000;
+
+    static final int ENTRIES_OFFSET = 8;
+    static final int SLOTS_OFFSET = 12;
+    static final int BLOOM_WORDS_OFFSET = 16;
+    static final int BLOOM_HASHES_OFFSET = 20;
+    static final int DATA_OFFSET = 24;
+
+    private DictionaryIndex() {
+    }
+
+    /**
+     * @return The hash of a value used by the table and by the Bloom filter. It relies on String.hashCode, which the JVM caches.
+    */
+    static int hash(String value) {
+        int h = value.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * @return The second hash used by the double hashing of the Bloom filter. It is always odd.
+    */
+    static int hash2(int hash) {
+        int h = hash * 0x9e3779b9;
+        return (h ^ (h >>> 15)) | 1;
+    }
+
+    static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xff) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+package com.linksfoundation.dq.core.validator.standard.dictionary;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class builds the index file of a dictionary (see {@link DictionaryIndex} for the layout).
+ * The source is a UTF-8 text file with one value per line; empty lines are ignored.
+ * The index is written to a temporary file and then moved in place, so concurrent builders on the same host never expose a partial file.
+*/
+@Slf4j
+public class DictionaryIndexBuilder {
+
+    /**
+     * This method builds the index of a dictionary.
+     *
+     * @param source The text file of the dictionary.
+     * @param index The index file to be created.
+     * @param bloomFpp The false positive probability of the Bloom filter, or 0 to build the index without it.
+    */
+    public void build(Path source, Path index, double bloomFpp) throws IOException {
+        Set<String> values = new LinkedHashSet<>();
+        for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+            String value = line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+            if (!value.isEmpty()) {
+                values.add(value);
+            }
+        }
+
+        int slots = Integer.highestOneBit(Math.max(2, values.size() * 2 - 1)) << 1;
+        int bloomHashes = 0;
+        int bloomWords = 0;
+        if (bloomFpp > 0 && !values.isEmpty()) {
+            long bits = (long) Math.ceil(-values.size() * Math.log(bloomFpp) / (Math.log(2) * Math.log(2)));
+            bloomWords = (int) Math.min(Integer.MAX_VALUE / 8, (bits + 63) / 64);
+            bloomHashes = Math.max(1, (int) Math.round((double) bloomWords * 64 / values.size() * Math.log(2)));
+        }
+
+        long dataOffset = DictionaryIndex.HEADER_SIZE + (long) bloomWords * 8 + (long) slots * DictionaryIndex.SLOT_SIZE;
+        long size = dataOffset;
+        for (String value : values) {
+            size += 4 + (DictionaryIndex.isLatin1(value) ? value.length() : value.length() * 2L);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Dictionary %s is too large to be indexed".formatted(source));
+        }
+
+        Files.createDirectories(index.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(index.toAbsolutePath().getParent(), index.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            this.write(buffer, List.copyOf(values), slots, bloomWords, bloomHashes, (int) dataOffset);
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Dictionary {} indexed in {}: {} values, {} bytes", source, index, values.size(), size);
+    }
+
+    private void write(MappedByteBuffer buffer, List<String> values, int slots, int bloomWords, int bloomHashes, int dataOffset) {
+        buffer.putInt(0, DictionaryIndex.MAGIC);
+        buffer.putInt(4, DictionaryIndex.VERSION);
+        buffer.putInt(DictionaryIndex.ENTRIES_OFFSET, values.size());
+        buffer.putInt(DictionaryIndex.SLOTS_OFFSET, slots);
+        buffer.putInt(DictionaryIndex.BLOOM_WORDS_OFFSET, bloomWords);
+        buffer.putInt(DictionaryIndex.BLOOM_HASHES_OFFSET, bloomHashes);
+        buffer.putLong(DictionaryIndex.DATA_OFFSET, dataOffset);
+
+        int bloomStart = DictionaryIndex.HEADER_SIZE;
+        int tableStart = bloomStart + bloomWords * 8;
+        int mask = slots - 1;
+        int position = dataOffset;
+
+        for (String value : values) {
+            int hash = DictionaryIndex.hash(value);
+
+            if (bloomWords > 0) {
+                long bits = (long) bloomWords * 64;
+                int hash2 = DictionaryIndex.hash2(hash);
+                for (int k = 0; k < bloomHashes; k++) {
+                    long bit = Math.floorMod(hash + (long) k * hash2, bits);
+                    int word = bloomStart + (int) (bit >>> 6) * 8;
+                    buffer.putLong(word, buffer.getLong(word) | (1L << (bit & 63)));
+                }
+            }
+
+            int slot = hash & mask;
+            while (buffer.getInt(tableStart + slot * DictionaryIndex.SLOT_SIZE + 4) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            buffer.putInt(tableStart + slot * DictionaryIndex.SLOT_SIZE, hash);
+            buffer.putInt(tableStart + slot * DictionaryIndex.SLOT_SIZE + 4, position - dataOffset + 1);
+
+            if (DictionaryIndex.isLatin1(value)) {
+                buffer.putInt(position, value.length());
+                position += 4;
+                for (int i = 0; i < value.length(); i++) {
+                    buffer.put(position++, (byte) value.charAt(i));
+                }
+            } else {
+                buffer.putInt(position, value.length() | DictionaryIndex.UTF16_FLAG);
+                position += 4;
+                for (int i = 0; i < value.length(); i++) {
+                    buffer.putChar(position, value.charAt(i));
+                    position += 2;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.linksfoundation.dq.core.validator.standard.dictionary;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * A read-only set of strings backed by a memory-mapped index file (see {@link DictionaryIndex}).
+ * The index lives in the page cache, so it uses almost no heap and it is shared by all the processes of the host that map it.
+ * A lookup costs one probe of the hash table in the common case, preceded by the Bloom filter when the index has one,
+ * and it does not allocate. Instances are immutable and thread-safe.
+*/
+@Slf4j
+public class MappedDictionary {
+
+    private static final Map<String, Opened> OPEN = new HashMap<>();
+
+    @Getter
+    private final Path index;
+    private final MappedByteBuffer buffer;
+    @Getter
+    private final int size;
+    private final int mask;
+    private final int bloomWords;
+    private final int bloomHashes;
+    private final int tableStart;
+    private final int dataOffset;
+
+    private MappedDictionary(Path index) throws IOException {
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != DictionaryIndex.MAGIC || buffer.getInt(4) != DictionaryIndex.VERSION) {
+            throw new IOException("File %s is not a dictionary index".formatted(index));
+        }
+
+        this.index = index;
+        this.size = buffer.getInt(DictionaryIndex.ENTRIES_OFFSET);
+        this.mask = buffer.getInt(DictionaryIndex.SLOTS_OFFSET) - 1;
+        this.bloomWords = buffer.getInt(DictionaryIndex.BLOOM_WORDS_OFFSET);
+        this.bloomHashes = buffer.getInt(DictionaryIndex.BLOOM_HASHES_OFFSET);
+        this.tableStart = DictionaryIndex.HEADER_SIZE + bloomWords * 8;
+        this.dataOffset = (int) buffer.getLong(DictionaryIndex.DATA_OFFSET);
+    }
+
+    /**
+     * This method opens the dictionary of a source file, building its index first if it does not exist yet.
+     * The name of the index depends on the content of the source and on the Bloom filter, so a changed dictionary gets a new index.
+     * The dictionary last opened for a source is reused as long as the modification time and the size of the source do not change,
+     * and then as long as its checksum does not; when the content changes, the previous dictionary is forgotten and its index deleted.
+     * The dictionaries still used by the rules of a previous configuration stay valid, since their mapping outlives the file.
+     *
+     * @param source The text file of the dictionary, with one value per line.
+     * @param indexDir The directory where the index files are stored.
+     * @param bloomFpp The false positive probability of the Bloom filter, or 0 to disable it.
+     *
+     * @return The dictionary.
+    */
+    public static synchronized MappedDictionary open(Path source, Path indexDir, double bloomFpp) throws IOException {
+        String bloom = bloomFpp > 0 ? Double.toString(bloomFpp) : "nobloom";
+        String key = source.toAbsolutePath() + "|" + indexDir.toAbsolutePath() + "|" + bloom;
+        FileTime modified = Files.getLastModifiedTime(source);
+        long length = Files.size(source);
+
+        Opened opened = OPEN.get(key);
+        if (opened != null && opened.modified().equals(modified) && opened.length() == length) {
+            return opened.dictionary();
+        }
+
+        long crc = checksum(source);
+        if (opened != null && opened.crc() == crc) {
+            OPEN.put(key, new Opened(modified, length, crc, opened.dictionary()));
+            return opened.dictionary();
+        }
+
+        Path index = indexDir.resolve("%s-%08x-%s.idx".formatted(source.getFileName(), crc, bloom)).toAbsolutePath();
+        if (!Files.exists(index)) {
+            new DictionaryIndexBuilder().build(source, index, bloomFpp);
+        }
+
+        MappedDictionary dictionary = new MappedDictionary(index);
+        OPEN.put(key, new Opened(modified, length, crc, dictionary));
+        log.info("Dictionary {} mapped from {} with {} values", source, index, dictionary.getSize());
+
+        if (opened != null) {
+            Path previous = opened.dictionary().getIndex();
+            if (OPEN.values().stream().noneMatch(other -> other.dictionary().getIndex().equals(previous))) {
+                Files.deleteIfExists(previous);
+                log.info("Dictionary index {} deleted, {} changed", previous, source);
+            }
+        }
+        return dictionary;
+    }
+
+    private static long checksum(Path source) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream input = new CheckedInputStream(Files.newInputStream(source), crc)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * @param value The value to look up.
+     *
+     * @return true if the value belongs to the dictionary.
+    */
+    public boolean contains(String value) {
+        int hash = DictionaryIndex.hash(value);
+
+        if (bloomWords > 0 && !this.mightContain(hash)) {
+            return false;
+        }
+
+        int slot = hash & mask;
+        while (true) {
+            int position = tableStart + slot * DictionaryIndex.SLOT_SIZE;
+            int offset = buffer.getInt(position + 4);
+            if (offset == 0) {
+                return false;
+            }
+            if (buffer.getInt(position) == hash && this.equalsAt(dataOffset + offset - 1, value)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean mightContain(int hash) {
+        long bits = (long) bloomWords * 64;
+        int hash2 = DictionaryIndex.hash2(hash);
+        for (int k = 0; k < bloomHashes; k++) {
+            long bit = Math.floorMod(hash + (long) k * hash2, bits);
+            long word = buffer.getLong(DictionaryIndex.HEADER_SIZE + (int) (bit >>> 6) * 8);
+            if ((word & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The dictionary last opened for a source, with the attributes of the source it was checked against.
+    */
+    private record Opened(FileTime modified, long length, long crc, MappedDictionary dictionary) {
+    }
+
+    private boolean equalsAt(int position, String value) {
+        int header = buffer.getInt(position);
+        int length = header & ~DictionaryIndex.UTF16_FLAG;
+        if (length != value.length()) {
+            return false;
+        }
+
+        position += 4;
+        if ((header & DictionaryIndex.UTF16_FLAG) == 0) {
+            for (int i = 0; i < length; i++) {
+                if ((buffer.get(position + i) & 0xff) != value.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                if (buffer.getChar(position + i * 2) != value.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
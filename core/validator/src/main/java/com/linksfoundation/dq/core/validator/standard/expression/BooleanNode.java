@@ -0,0 +1,15 @@
+package com.linksfoundation.dq.core.validator.standard.expression;
+
+/**
+ * A compiled boolean sub-expression.
+*/
+@FunctionalInterface
+public interface BooleanNode {
+
+    /**
+     * @param variables The values of the features of the expression, in the order of {@link CompiledExpression#getVariables()}.
+     *
+     * @return The value of the sub-expression.
+    */
+    boolean test(double[] variables);
+}
@@ -0,0 +1,29 @@
+package com.linksfoundation.dq.core.validator.standard.expression;
+
+import lombok.Getter;
+
+/**
+ * The result of the compilation of an expression: the features it reads, each one bound to an index of the variables,
+ * and the tree of lambdas that evaluates it.
+*/
+@Getter
+public class CompiledExpression {
+    private final String source;
+    private final String[] variables;
+    private final BooleanNode root;
+
+    public CompiledExpression(String source, String[] variables, BooleanNode root) {
+        this.source = source;
+        this.variables = variables;
+        this.root = root;
+    }
+
+    /**
+     * @param variables The values of the features, in the order of {@link #getVariables()}.
+     *
+     * @return The value of the expression.
+    */
+    public boolean test(double[] variables) {
+        return root.test(variables);
+    }
+}
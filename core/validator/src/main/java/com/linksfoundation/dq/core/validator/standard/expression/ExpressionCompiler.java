@@ -0,0 +1,286 @@
+package com.linksfoundation.dq.core.validator.standard.expression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class compiles a boolean expression over the float features of a sample into a tree of lambdas.
+ * The expression is parsed once, its constant parts are folded, and each feature becomes an index in the array of variables,
+ * so an evaluation is a chain of primitive operations that the JIT can inline, with no lookup or boxing.
+ *
+ * Grammar, from the lowest to the highest precedence:
+ * - logical operators: ||, &&, !
+ * - comparisons: <, <=, >, >=, ==, !=
+ * - arithmetic: +, -, *, /, unary -
+ * - numbers, features (e.g. voltage, line_1.current), parentheses and the functions abs(x), sqrt(x), min(x, y), max(x, y).
+*/
+public class ExpressionCompiler {
+
+    private record Constant(double value) implements NumericNode {
+        @Override
+        public double eval(double[] variables) {
+            return value;
+        }
+    }
+
+    private String source;
+    private List<String> tokens;
+    private int position;
+    private Map<String, Integer> variables;
+
+    /**
+     * This method compiles an expression.
+     *
+     * @param source The expression, e.g. power <= voltage * current * 1.05.
+     *
+     * @return The compiled expression.
+     *
+     * If the expression is not valid, it throws an IllegalArgumentException.
+    */
+    public synchronized CompiledExpression compile(String source) {
+        this.source = source;
+        this.tokens = tokenize(source);
+        this.position = 0;
+        this.variables = new LinkedHashMap<>();
+
+        BooleanNode root = this.bool(this.or());
+        if (position < tokens.size()) {
+            throw this.error("unexpected " + tokens.get(position));
+        }
+
+        return new CompiledExpression(source, variables.keySet().toArray(String[]::new), root);
+    }
+
+    private Object or() {
+        Object left = this.and();
+        while (this.accept("||")) {
+            BooleanNode a = this.bool(left);
+            BooleanNode b = this.bool(this.and());
+            left = (BooleanNode) v -> a.test(v) || b.test(v);
+        }
+        return left;
+    }
+
+    private Object and() {
+        Object left = this.not();
+        while (this.accept("&&")) {
+            BooleanNode a = this.bool(left);
+            BooleanNode b = this.bool(this.not());
+            left = (BooleanNode) v -> a.test(v) && b.test(v);
+        }
+        return left;
+    }
+
+    private Object not() {
+        if (this.accept("!")) {
+            BooleanNode a = this.bool(this.not());
+            return (BooleanNode) v -> !a.test(v);
+        }
+        return this.comparison();
+    }
+
+    private Object comparison() {
+        Object left = this.additive();
+        String operator = this.peek();
+        if (operator == null || !List.of("<", "<=", ">", ">=", "==", "!=").contains(operator)) {
+            return left;
+        }
+
+        position++;
+        NumericNode a = this.numeric(left);
+        NumericNode b = this.numeric(this.additive());
+        return switch (operator) {
+            case "<" -> (BooleanNode) v -> a.eval(v) < b.eval(v);
+            case "<=" -> (BooleanNode) v -> a.eval(v) <= b.eval(v);
+            case ">" -> (BooleanNode) v -> a.eval(v) > b.eval(v);
+            case ">=" -> (BooleanNode) v -> a.eval(v) >= b.eval(v);
+            case "==" -> (BooleanNode) v -> a.eval(v) == b.eval(v);
+            default -> (BooleanNode) v -> a.eval(v) != b.eval(v);
+        };
+    }
+
+    private Object additive() {
+        Object left = this.multiplicative();
+        while (true) {
+            if (this.accept("+")) {
+                left = this.arithmetic('+', this.numeric(left), this.numeric(this.multiplicative()));
+            } else if (this.accept("-")) {
+                left = this.arithmetic('-', this.numeric(left), this.numeric(this.multiplicative()));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Object multiplicative() {
+        Object left = this.unary();
+        while (true) {
+            if (this.accept("*")) {
+                left = this.arithmetic('*', this.numeric(left), this.numeric(this.unary()));
+            } else if (this.accept("/")) {
+                left = this.arithmetic('/', this.numeric(left), this.numeric(this.unary()));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Object unary() {
+        if (this.accept("-")) {
+            NumericNode a = this.numeric(this.unary());
+            return a instanceof Constant c ? new Constant(-c.value()) : (NumericNode) v -> -a.eval(v);
+        }
+        return this.primary();
+    }
+
+    private Object primary() {
+        String token = this.peek();
+        if (token == null) {
+            throw this.error("unexpected end of expression");
+        }
+        position++;
+
+        if (token.equals("(")) {
+            Object inner = this.or();
+            this.expect(")");
+            return inner;
+        }
+        if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '.') {
+            try {
+                return new Constant(Double.parseDouble(token));
+            } catch (NumberFormatException e) {
+                throw this.error("invalid number " + token);
+            }
+        }
+        if (!Character.isLetter(token.charAt(0)) && token.charAt(0) != '_') {
+            throw this.error("unexpected " + token);
+        }
+
+        if (this.accept("(")) {
+            return this.function(token);
+        }
+
+        int index = variables.computeIfAbsent(token, k -> variables.size());
+        return (NumericNode) v -> v[index];
+    }
+
+    private Object function(String name) {
+        if (!List.of("abs", "sqrt", "min", "max").contains(name)) {
+            throw this.error("unknown function " + name);
+        }
+
+        NumericNode a = this.numeric(this.or());
+        NumericNode b = null;
+        if (name.equals("min") || name.equals("max")) {
+            this.expect(",");
+            b = this.numeric(this.or());
+        }
+        this.expect(")");
+
+        NumericNode second = b;
+        NumericNode node = switch (name) {
+            case "abs" -> v -> Math.abs(a.eval(v));
+            case "sqrt" -> v -> Math.sqrt(a.eval(v));
+            case "min" -> v -> Math.min(a.eval(v), second.eval(v));
+            default -> v -> Math.max(a.eval(v), second.eval(v));
+        };
+
+        return a instanceof Constant && (b == null || b instanceof Constant) ? new Constant(node.eval(null)) : node;
+    }
+
+    private NumericNode arithmetic(char operator, NumericNode a, NumericNode b) {
+        NumericNode node = switch (operator) {
+            case '+' -> v -> a.eval(v) + b.eval(v);
+            case '-' -> v -> a.eval(v) - b.eval(v);
+            case '*' -> v -> a.eval(v) * b.eval(v);
+            default -> v -> a.eval(v) / b.eval(v);
+        };
+
+        return a instanceof Constant && b instanceof Constant ? new Constant(node.eval(null)) : node;
+    }
+
+    private NumericNode numeric(Object node) {
+        if (node instanceof NumericNode numeric) {
+            return numeric;
+        }
+        throw this.error("a number is expected where a condition is given");
+    }
+
+    private BooleanNode bool(Object node) {
+        if (node instanceof BooleanNode bool) {
+            return bool;
+        }
+        throw this.error("a condition is expected where a number is given");
+    }
+
+    private String peek() {
+        return position < tokens.size() ? tokens.get(position) : null;
+    }
+
+    private boolean accept(String token) {
+        if (token.equals(this.peek())) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!this.accept(token)) {
+            throw this.error("%s expected".formatted(token));
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Expression '%s' is not valid: %s".formatted(source, message));
+    }
+
+    private List<String> tokenize(String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Expression is missing");
+        }
+
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            if (Character.isDigit(c) || (c == '.' && i + 1 < source.length() && Character.isDigit(source.charAt(i + 1)))) {
+                while (i < source.length() && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                    i++;
+                }
+                if (i < source.length() && (source.charAt(i) == 'e' || source.charAt(i) == 'E')) {
+                    i++;
+                    if (i < source.length() && (source.charAt(i) == '+' || source.charAt(i) == '-')) {
+                        i++;
+                    }
+                    while (i < source.length() && Character.isDigit(source.charAt(i))) {
+                        i++;
+                    }
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < source.length() && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_' || source.charAt(i) == '.')) {
+                    i++;
+                }
+            } else if (source.startsWith("<=", i) || source.startsWith(">=", i) || source.startsWith("==", i)
+                    || source.startsWith("!=", i) || source.startsWith("&&", i) || source.startsWith("||", i)) {
+                i += 2;
+            } else if ("+-*/()<>!,".indexOf(c) >= 0) {
+                i++;
+            } else {
+                this.source = source;
+                throw this.error("unexpected character " + c);
+            }
+            tokens.add(source.substring(start, i));
+        }
+
+        return tokens;
+    }
+}
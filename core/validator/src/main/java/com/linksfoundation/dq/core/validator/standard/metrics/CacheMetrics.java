@@ -0,0 +1,53 @@
+package com.linksfoundation.dq.core.validator.standard.metrics;
+
+import com.linksfoundation.dq.core.validator.standard.checker.CachedStringChecker;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.compiler.DatasetPlans;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class exports the hits and the misses of the result caches of the rules (see {@link CachedStringChecker}) through Micrometer,
+ * as dq.rule.cache.hits and dq.rule.cache.misses, with the same tags of the meters of the RuleProfiler.
+ * The hit rate of a rule is hits / (hits + misses); a low rate means the feature has too many distinct values to be cached.
+*/
+public class CacheMetrics {
+
+    private final MeterRegistry registry;
+    private final List<Meter> meters = new ArrayList<>();
+
+    public CacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * This method replaces the meters of the previous configuration with the ones of the caches of a new configuration.
+     *
+     * @param plans The new configuration.
+    */
+    public synchronized void bind(DatasetPlans plans) {
+        meters.forEach(registry::remove);
+        meters.clear();
+
+        for (ValidationPlan plan : plans.getPlans()) {
+            List<Checker> checkers = plan.getCheckers();
+            for (int i = 0; i < checkers.size(); i++) {
+                if (checkers.get(i) instanceof CachedStringChecker cached) {
+                    Tags tags = Tags.of("validator", plan.getName(), "dataset", plan.getDataset(), "rule", cached.getType(),
+                            "feature", String.valueOf(cached.getFeature()), "index", String.valueOf(i));
+                    meters.add(FunctionCounter.builder("dq.rule.cache.hits", cached.getHits(), LongAdder::sum)
+                            .tags(tags).register(registry));
+                    meters.add(FunctionCounter.builder("dq.rule.cache.misses", cached.getMisses(), LongAdder::sum)
+                            .tags(tags).register(registry));
+                }
+            }
+        }
+    }
+}
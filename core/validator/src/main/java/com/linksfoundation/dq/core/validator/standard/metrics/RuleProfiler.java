@@ -0,0 +1,244 @@
+package com.linksfoundation.dq.core.validator.standard.metrics;
+
+import com.linksfoundation.dq.api.model.BoolArray;
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import com.linksfoundation.dq.core.validator.standard.checker.CachedStringChecker;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.checker.RegexChecker;
+import com.linksfoundation.dq.core.validator.standard.compiler.DatasetPlans;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This class profiles the rules of the active DatasetPlans and exports the results through Micrometer.
+ * One sample out of every sampleEvery is evaluated rule by rule, measuring the time of each checker and the number of values it read,
+ * while the other samples go through the grouped evaluation of the plan at full speed. Pass and fail counts are recorded for every sample.
+ *
+ * Meters, tagged by validator, dataset key, rule type, feature and position of the rule in its dataset:
+ * - dq.rule.duration: evaluation time of the sampled evaluations (histogram);
+ * - dq.rule.result: number of evaluations, with tag result=pass|fail;
+ * - dq.rule.values: number of values read by the sampled evaluations;
+ * - dq.rule.regex.budget.exceeded: number of values whose regex match ran out of budget (regex rules only).
+ *
+ * Every logInterval milliseconds the topN rules with the highest total sampled time in the interval are logged.
+*/
+@Slf4j
+public class RuleProfiler implements AutoCloseable {
+
+    /**
+     * The meters and the accumulators of the rules of a plan.
+    */
+    private static final class Profile {
+        private final ValidationPlan plan;
+        private final Timer[] timers;
+        private final Counter[] passed;
+        private final Counter[] failed;
+        private final Counter[] values;
+        private final LongAdder[] nanos;
+        private final long[] reported;
+        private final List<Meter> meters = new ArrayList<>();
+
+        private Profile(ValidationPlan plan, MeterRegistry registry) {
+            this.plan = plan;
+            int size = plan.getCheckers().size();
+            this.timers = new Timer[size];
+            this.passed = new Counter[size];
+            this.failed = new Counter[size];
+            this.values = new Counter[size];
+            this.nanos = new LongAdder[size];
+            this.reported = new long[size];
+
+            for (int i = 0; i < size; i++) {
+                Checker checker = plan.getCheckers().get(i);
+                Tags tags = Tags.of("validator", plan.getName(), "dataset", plan.getDataset(), "rule", checker.getType(),
+                        "feature", String.valueOf(checker.getFeature()), "index", String.valueOf(i));
+                timers[i] = Timer.builder("dq.rule.duration").tags(tags).publishPercentileHistogram().register(registry);
+                passed[i] = Counter.builder("dq.rule.result").tags(tags).tag("result", "pass").register(registry);
+                failed[i] = Counter.builder("dq.rule.result").tags(tags).tag("result", "fail").register(registry);
+                values[i] = Counter.builder("dq.rule.values").tags(tags).register(registry);
+                nanos[i] = new LongAdder();
+                meters.addAll(List.of(timers[i], passed[i], failed[i], values[i]));
+                Checker target = checker instanceof CachedStringChecker cached ? cached.getDelegate() : checker;
+                if (target instanceof RegexChecker regex) {
+                    meters.add(FunctionCounter.builder("dq.rule.regex.budget.exceeded", regex.getExceeded(), LongAdder::sum)
+                            .tags(tags).register(registry));
+                }
+            }
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final long sampleEvery;
+    private final int topN;
+    private final AtomicLong counter = new AtomicLong();
+    private volatile DatasetPlans active;
+    private volatile Map<ValidationPlan, Profile> profiles = Map.of();
+    private DatasetPlans retired;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param registry The registry of the meters.
+     * @param sampleRate The fraction of the samples evaluated rule by rule, in (0, 1].
+     * @param topN The number of rules in the periodic log line.
+    */
+    public RuleProfiler(MeterRegistry registry, double sampleRate, int topN) {
+        this.registry = registry;
+        this.sampleEvery = Math.max(1, Math.round(1 / Math.min(1, Math.max(sampleRate, 1e-6))));
+        this.topN = topN;
+    }
+
+    /**
+     * This method evaluates a plan on a sample, profiling its rules if the sample is sampled.
+     *
+     * @param plans The configuration the plan belongs to. When it changes, the meters of the previous configuration are removed.
+     * @param plan The plan to be evaluated. The plans that do not belong to the configuration are evaluated without profiling.
+     * @param sample The sample to be checked.
+     * @param results The array filled with the result of each checker (see {@link ValidationPlan#evaluate(Sample, boolean[])}).
+     *
+     * @return true if all the checkers passed, false otherwise.
+    */
+    public boolean evaluate(DatasetPlans plans, ValidationPlan plan, Sample sample, boolean[] results) {
+        Profile profile = this.profiles(plans).get(plan);
+        if (profile == null) {
+            return plan.evaluate(sample, results);
+        }
+
+        boolean valid = true;
+
+        if (counter.getAndIncrement() % sampleEvery == 0) {
+            List<Checker> checkers = plan.getCheckers();
+            for (int i = 0; i < results.length; i++) {
+                Checker checker = checkers.get(i);
+                long start = System.nanoTime();
+                results[i] = checker.check(sample);
+                long elapsed = System.nanoTime() - start;
+                profile.timers[i].record(elapsed, TimeUnit.NANOSECONDS);
+                profile.nanos[i].add(elapsed);
+                profile.values[i].increment(countValues(sample, checker.getFeature()));
+                valid &= results[i];
+            }
+        } else {
+            valid = plan.evaluate(sample, results);
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            (results[i] ? profile.passed[i] : profile.failed[i]).increment();
+        }
+
+        return valid;
+    }
+
+    /**
+     * Starts logging the most expensive rules.
+     *
+     * @param interval The interval in milliseconds. A value lower or equal to 0 disables the log.
+    */
+    public synchronized void start(long interval) {
+        if (interval <= 0 || executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rule-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::report, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method logs the topN rules with the highest sampled time since the previous report.
+    */
+    public void report() {
+        List<Profile> profiles = List.copyOf(this.profiles.values());
+        List<String> entries = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        for (Profile profile : profiles) {
+            List<Checker> checkers = profile.plan.getCheckers();
+            for (int i = 0; i < checkers.size(); i++) {
+                long total = profile.nanos[i].sum();
+                long delta = total - profile.reported[i];
+                profile.reported[i] = total;
+                if (delta > 0) {
+                    entries.add("%s(%s)@%s#%d=%.3fms".formatted(
+                            checkers.get(i).getType(), checkers.get(i).getFeature(), profile.plan.getDataset(), i, delta / 1e6));
+                    deltas.add(delta);
+                }
+            }
+        }
+
+        String top = IntStream.range(0, entries.size())
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> deltas.get(i)).reversed())
+                .limit(topN)
+                .map(entries::get)
+                .collect(Collectors.joining(", "));
+        if (!top.isEmpty()) {
+            log.info("Most expensive rules of validator {} (sampled 1/{}): {}", profiles.get(0).plan.getName(), sampleEvery, top);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private Map<ValidationPlan, Profile> profiles(DatasetPlans plans) {
+        if (plans == active) {
+            return profiles;
+        }
+
+        synchronized (this) {
+            if (plans == retired) {
+                // the samples still checked with the previous configuration are not profiled
+                return Map.of();
+            }
+            if (plans != active) {
+                profiles.values().forEach(profile -> profile.meters.forEach(registry::remove));
+                Map<ValidationPlan, Profile> created = new IdentityHashMap<>();
+                plans.getPlans().forEach(plan -> created.put(plan, new Profile(plan, registry)));
+                this.retired = this.active;
+                this.profiles = created;
+                this.active = plans;
+            }
+            return profiles;
+        }
+    }
+
+    private static int countValues(Sample sample, String feature) {
+        FloatArray floats = sample.getFloatDataMap().get(feature);
+        if (floats != null) {
+            return floats.getElementCount();
+        }
+        StringArray strings = sample.getStringDataMap().get(feature);
+        if (strings != null) {
+            return strings.getElementCount();
+        }
+        BoolArray bools = sample.getBoolDataMap().get(feature);
+        return bools == null ? 0 : bools.getElementCount();
+    }
+}
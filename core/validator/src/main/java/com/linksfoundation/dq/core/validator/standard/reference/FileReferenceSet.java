@@ -0,0 +1,104 @@
+package com.linksfoundation.dq.core.validator.standard.reference;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ReferenceSet loaded from a text file with one key per line; blank lines are ignored.
+ * The file is polled on a background thread and loaded again when its modification time or size changes;
+ * the new keys are swapped in atomically, and the previous keys stay active if the file cannot be read.
+*/
+@Slf4j
+public class FileReferenceSet implements ReferenceSet {
+
+    private final Path path;
+    private volatile Set<String> keys;
+    private FileTime modified;
+    private long length;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Loads the file and starts polling it.
+     *
+     * @param path The path of the file.
+     * @param refresh The polling interval in milliseconds. A value lower or equal to 0 disables the reload.
+    */
+    public FileReferenceSet(Path path, long refresh) throws IOException {
+        this.path = path;
+        this.load();
+
+        if (refresh > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "reference-" + path.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::reload, refresh, refresh, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * This method loads the file again if it changed since the last load.
+     *
+     * @return true if the keys have been replaced, false otherwise.
+    */
+    public synchronized boolean reload() {
+        try {
+            if (Files.getLastModifiedTime(path).equals(modified) && Files.size(path) == length) {
+                return false;
+            }
+            this.load();
+            log.info("Reference {} reloaded, {} keys", path, keys.size());
+            return true;
+        } catch (IOException e) {
+            log.error("Reference {} not reloaded, {} keys are still active: {}", path, keys.size(), e.toString());
+            return false;
+        }
+    }
+
+    private void load() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(path);
+        long length = Files.size(path);
+        Set<String> keys = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    keys.add(line.strip());
+                }
+            }
+        }
+
+        this.keys = Set.copyOf(keys);
+        this.modified = modified;
+        this.length = length;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.linksfoundation.dq.core.validator.standard.reference;
+
+/**
+ * A set of reference keys kept in memory and updated in the background, so that a membership check never leaves the process.
+ * Implementations are thread-safe.
+*/
+public interface ReferenceSet extends AutoCloseable {
+
+    /**
+     * @param key A key.
+     *
+     * @return true if the key is in the reference dataset.
+    */
+    boolean contains(String key);
+
+    /**
+     * @return The number of keys of the reference dataset.
+    */
+    int size();
+
+    /**
+     * Stops updating the set.
+    */
+    @Override
+    void close();
+}
@@ -0,0 +1,114 @@
+package com.linksfoundation.dq.core.validator.standard.reference;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * This class opens the reference sets of the reference rules and keeps them open across the reloads of the configuration,
+ * so that the rules reading the same file or topic share one set, and a reload does not read the topic again.
+ * The sets are counted by the compiled configurations using them (see {@link #acquire(Collection)}): a set is closed
+ * when the last configuration using it is released, so a reload that drops a reference rule also stops its background reader.
+*/
+@Slf4j
+public class ReferenceSets implements AutoCloseable {
+
+    private final Supplier<Consumer<String, byte[]>> consumers;
+    private final Map<String, ReferenceSet> open = new HashMap<>();
+    private final Map<ReferenceSet, Integer> references = new IdentityHashMap<>();
+
+    /**
+     * @param consumers The factory of the consumers of the reference topics, or null if the references can only be files.
+    */
+    public ReferenceSets(Supplier<Consumer<String, byte[]>> consumers) {
+        this.consumers = consumers;
+    }
+
+    /**
+     * @param path The path of the file.
+     * @param refresh The polling interval of the file in milliseconds (see {@link FileReferenceSet}).
+     *
+     * @return The set of the keys of the file.
+    */
+    public synchronized ReferenceSet file(Path path, long refresh) throws IOException {
+        String id = "file:" + path.toAbsolutePath();
+        ReferenceSet set = open.get(id);
+        if (set == null) {
+            set = new FileReferenceSet(path, refresh);
+            open.put(id, set);
+        }
+        return set;
+    }
+
+    /**
+     * @param topic The compacted topic.
+     * @param timeout The maximum time in milliseconds to wait for the records already in the topic when it is opened.
+     *
+     * @return The set of the keys of the topic.
+    */
+    public synchronized ReferenceSet topic(String topic, long timeout) throws InterruptedException {
+        if (consumers == null) {
+            throw new IllegalStateException("No Kafka consumer available for reference topic " + topic);
+        }
+
+        String id = "topic:" + topic;
+        ReferenceSet set = open.get(id);
+        if (set == null) {
+            TopicReferenceSet created = new TopicReferenceSet(topic, consumers.get());
+            if (!created.await(timeout)) {
+                log.warn("Reference {} not loaded after {} ms, the missing keys fail until it is", topic, timeout);
+            }
+            set = created;
+            open.put(id, set);
+        }
+        return set;
+    }
+
+    /**
+     * This method counts a new compiled configuration among the users of its sets.
+     *
+     * @param sets The distinct sets used by the configuration.
+    */
+    public synchronized void acquire(Collection<ReferenceSet> sets) {
+        sets.forEach(set -> references.merge(set, 1, Integer::sum));
+    }
+
+    /**
+     * This method removes a compiled configuration, replaced by a newer one, from the users of its sets,
+     * and closes the sets no longer used by any configuration.
+     *
+     * @param sets The distinct sets used by the configuration, as passed to {@link #acquire(Collection)}.
+    */
+    public synchronized void release(Collection<ReferenceSet> sets) {
+        sets.forEach(set -> references.computeIfPresent(set, (key, count) -> count > 1 ? count - 1 : null));
+        this.closeUnused();
+    }
+
+    /**
+     * This method closes the sets not used by any configuration, such as the ones opened by a compilation that failed.
+    */
+    public synchronized void closeUnused() {
+        open.entrySet().removeIf(entry -> {
+            if (references.containsKey(entry.getValue())) {
+                return false;
+            }
+            entry.getValue().close();
+            log.info("Reference {} closed, no rule uses it anymore", entry.getKey());
+            return true;
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        open.values().forEach(ReferenceSet::close);
+        open.clear();
+        references.clear();
+    }
+}
@@ -0,0 +1,121 @@
+package com.linksfoundation.dq.core.validator.standard.reference;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ReferenceSet that follows a compacted Kafka topic: the key of each record is a reference key,
+ * added if the record has a value and removed if it is a tombstone.
+ * The topic is read from the beginning of every partition by a background thread, without a consumer group,
+ * and the changes are applied to the set one by one as they arrive.
+*/
+@Slf4j
+public class TopicReferenceSet implements ReferenceSet {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final String topic;
+    private final Consumer<String, byte[]> consumer;
+    private final List<TopicPartition> partitions;
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Starts reading the topic.
+     *
+     * @param topic The compacted topic of the reference keys.
+     * @param consumer The consumer of the topic, owned by this set from now on.
+     *
+     * If the topic does not exist, it closes the consumer and throws an IllegalStateException.
+    */
+    public TopicReferenceSet(String topic, Consumer<String, byte[]> consumer) {
+        this.topic = topic;
+        this.consumer = consumer;
+
+        List<PartitionInfo> infos = consumer.partitionsFor(topic);
+        if (infos == null || infos.isEmpty()) {
+            consumer.close();
+            throw new IllegalStateException("Reference topic %s does not exist".formatted(topic));
+        }
+        this.partitions = infos.stream()
+                .map(info -> new TopicPartition(topic, info.partition()))
+                .toList();
+
+        this.thread = new Thread(this::run, "reference-" + topic);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * This method waits until the records that were in the topic when the set was created have been read.
+     *
+     * @param timeout The maximum time to wait in milliseconds.
+     *
+     * @return true if the set is loaded, false if the timeout elapsed.
+    */
+    public boolean await(long timeout) throws InterruptedException {
+        return loaded.await(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    private void run() {
+        try {
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+
+            while (running) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.key() == null) {
+                        continue;
+                    }
+                    if (record.value() == null) {
+                        keys.remove(record.key());
+                    } else {
+                        keys.add(record.key());
+                    }
+                }
+
+                if (loaded.getCount() > 0 && partitions.stream().allMatch(p -> consumer.position(p) >= end.getOrDefault(p, 0L))) {
+                    loaded.countDown();
+                    log.info("Reference {} loaded, {} keys", topic, keys.size());
+                }
+            }
+        } catch (WakeupException e) {
+            // closed
+        } catch (RuntimeException e) {
+            log.error("Reference {} stopped, {} keys are still active: {}", topic, keys.size(), e.toString());
+        } finally {
+            consumer.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        consumer.wakeup();
+    }
+}
@@ -0,0 +1,36 @@
+package com.linksfoundation.dq.core.validator.standard.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Format of the description of a dictionary validation (see {@link SummaryReporter}).
+ * It maps the ids of the rules of a plan, i.e. their position in the plan, to their type and feature.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleDictionary {
+
+    /**
+     * Data Format of a rule of the dictionary.
+    */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private int id;
+        private String rule;
+        private String feature;
+    }
+
+    private String plan;
+    private String validator;
+    private String dataset;
+    private List<Entry> rules;
+}
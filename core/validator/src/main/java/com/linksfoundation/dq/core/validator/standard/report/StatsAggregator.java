@@ -0,0 +1,185 @@
+package com.linksfoundation.dq.core.validator.standard.report;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * This class counts the results of the rules by dataset in tumbling windows of processing time, aligned to the epoch,
+ * and emits one JSON ValidationStats for each window, so that the dashboards do not have to count the validations one by one.
+ *
+ * The counters are updated without locks: the samples of a window increment the AtomicLongArray of their dataset and plan,
+ * and at the end of the window a new window is swapped in. The previous window is emitted after a grace period,
+ * so that the samples that were already being counted when it ended are included.
+ * A dataset checked with two plans in the same window, e.g. across a reload of the configuration, is reported once per plan.
+*/
+@Slf4j
+public class StatsAggregator implements AutoCloseable {
+
+    private static final long GRACE = 1000;
+
+    /**
+     * The counters of a dataset checked with a plan: the number of samples, of failed samples, then valid and fail of each rule.
+    */
+    private static final class Counts {
+        private final ValidationPlan plan;
+        private final AtomicLongArray counters;
+
+        private Counts(ValidationPlan plan) {
+            this.plan = plan;
+            this.counters = new AtomicLongArray(2 + 2 * plan.getCheckers().size());
+        }
+    }
+
+    private static final class Window {
+        private final long start;
+        private final Map<ValidationPlan, Map<String, Counts>> plans = new ConcurrentHashMap<>();
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Supplier<String> validator;
+    private final long size;
+    private final BiConsumer<String, byte[]> sink;
+    private volatile Window window;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param validator The name of the validator, read when a window is emitted so that it follows the reloads of the configuration.
+     * @param size The size of the windows in milliseconds.
+     * @param sink The consumer of the name of the validator and of the JSON ValidationStats of each window.
+    */
+    public StatsAggregator(Supplier<String> validator, long size, BiConsumer<String, byte[]> sink) {
+        this.validator = validator;
+        this.size = size;
+        this.sink = sink;
+        this.window = new Window(this.align(System.currentTimeMillis()));
+    }
+
+    /**
+     * This method counts the results of a plan on a sample.
+     *
+     * @param dataset The dataset of the sample.
+     * @param plan The plan evaluated.
+     * @param results The result of each checker of the plan.
+    */
+    public void record(String dataset, ValidationPlan plan, boolean[] results) {
+        Map<String, Counts> datasets = window.plans.computeIfAbsent(plan, p -> new ConcurrentHashMap<>());
+        Counts counts = datasets.get(dataset);
+        if (counts == null) {
+            counts = datasets.computeIfAbsent(dataset, d -> new Counts(plan));
+        }
+
+        AtomicLongArray counters = counts.counters;
+        boolean valid = true;
+        for (int i = 0; i < results.length; i++) {
+            counters.incrementAndGet(2 + 2 * i + (results[i] ? 0 : 1));
+            valid &= results[i];
+        }
+        counters.incrementAndGet(0);
+        if (!valid) {
+            counters.incrementAndGet(1);
+        }
+    }
+
+    /**
+     * Starts closing the windows and emitting their statistics.
+    */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "validation-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long now = System.currentTimeMillis();
+        executor.scheduleAtFixedRate(this::roll, this.align(now) + size - now, size, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method closes the current window and emits it after the grace period.
+    */
+    public void roll() {
+        Window closed = this.window;
+        this.window = new Window(this.align(System.currentTimeMillis()));
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            this.emit(closed);
+        } else {
+            executor.schedule(() -> this.emit(closed), GRACE, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param validator The name of the validator.
+     * @param window The window to be summarized.
+     * @param end The end of the window.
+     *
+     * @return The statistics of the window.
+    */
+    private ValidationStats stats(String validator, Window window, long end) {
+        List<ValidationStats.Dataset> datasets = new ArrayList<>();
+        List<ValidationStats.Outcome> outcomes = new ArrayList<>();
+        window.plans.values().forEach(byDataset -> byDataset.forEach((dataset, counts) -> {
+            AtomicLongArray counters = counts.counters;
+            datasets.add(new ValidationStats.Dataset(dataset, counters.get(0), counters.get(1)));
+            List<Checker> checkers = counts.plan.getCheckers();
+            for (int i = 0; i < checkers.size(); i++) {
+                outcomes.add(new ValidationStats.Outcome(dataset, checkers.get(i).getType(), checkers.get(i).getFeature(),
+                        counters.get(2 + 2 * i), counters.get(3 + 2 * i)));
+            }
+        }));
+
+        return ValidationStats.builder()
+                .validator(validator)
+                .start(window.start)
+                .end(end)
+                .datasets(datasets)
+                .outcomes(outcomes)
+                .build();
+    }
+
+    private void emit(Window window) {
+        if (window.plans.isEmpty()) {
+            return;
+        }
+
+        try {
+            String name = validator.get();
+            sink.accept(name, mapper.writeValueAsBytes(this.stats(name, window, window.start + size)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Statistics of the window starting at {} not emitted: {}", window.start, e.toString());
+        }
+    }
+
+    private long align(long ts) {
+        return ts - Math.floorMod(ts, size);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
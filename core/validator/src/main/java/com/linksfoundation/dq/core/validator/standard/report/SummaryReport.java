@@ -0,0 +1,38 @@
+package com.linksfoundation.dq.core.validator.standard.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Format of the description of a summary validation (see {@link SummaryReporter}).
+ * The rules of the plan are identified by their position, mapped back to rule type and feature by the RuleDictionary of the plan.
+ * Bit i of the bitmap (little-endian, Base64 encoded) is set if rule i failed; the failed rules are also listed with their names.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryReport {
+
+    /**
+     * Data Format of a failed rule.
+    */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private int id;
+        private String rule;
+        private String feature;
+    }
+
+    private String plan;
+    private int rules;
+    private String bitmap;
+    @Builder.Default
+    private List<Failure> failures = List.of();
+}
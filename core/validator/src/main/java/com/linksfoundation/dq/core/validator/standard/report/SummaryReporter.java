@@ -0,0 +1,143 @@
+package com.linksfoundation.dq.core.validator.standard.report;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class encodes the results of a plan on a sample as a single summary validation instead of one validation per rule.
+ * The description of the summary is a JSON SummaryReport; the type and the feature of the rules are sent separately,
+ * in the JSON RuleDictionary of a dictionary validation that precedes the first summary of each plan and is repeated
+ * every dictionaryInterval milliseconds, so that the consumers that join later can decode the summaries.
+ * Both validations have the id of the plan (see {@link ValidationPlan#getId()}) as feature.
+*/
+public class SummaryReporter {
+
+    /**
+     * The validations produced for each sample.
+     * - RULES: one validation per rule;
+     * - SUMMARY: one summary validation, preceded by a dictionary validation when it is due;
+     * - STATE: the validation of the first failing rule, or a state validation if every rule passed.
+     *   The rules stop at the first failure (see {@link ValidationPlan#firstFailure(com.linksfoundation.dq.api.model.Sample)}).
+    */
+    public enum Output {
+        RULES,
+        SUMMARY,
+        STATE
+    }
+
+    public static final String SUMMARY_TYPE = "summary";
+    public static final String STATE_TYPE = "state";
+    public static final String DICTIONARY_TYPE = "dictionary";
+
+    private static final int MAX_PLANS = 1024;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final long dictionaryInterval;
+    private final Map<String, AtomicLong> emitted = new ConcurrentHashMap<>();
+
+    /**
+     * @param dictionaryInterval The interval in milliseconds between two dictionaries of the same plan.
+     *                           A value lower or equal to 0 sends the dictionary of a plan once.
+    */
+    public SummaryReporter(long dictionaryInterval) {
+        this.dictionaryInterval = dictionaryInterval;
+    }
+
+    /**
+     * This method encodes the results of a plan on a sample.
+     *
+     * @param plan The plan evaluated.
+     * @param results The result of each checker of the plan.
+     *
+     * @return The description of the summary validation.
+    */
+    public String summary(ValidationPlan plan, boolean[] results) {
+        List<Checker> checkers = plan.getCheckers();
+        byte[] bitmap = new byte[(checkers.size() + 7) / 8];
+        List<SummaryReport.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < checkers.size(); i++) {
+            if (!results[i]) {
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+                failures.add(new SummaryReport.Failure(i, checkers.get(i).getType(), checkers.get(i).getFeature()));
+            }
+        }
+
+        return this.write(SummaryReport.builder()
+                .plan(plan.getId())
+                .rules(checkers.size())
+                .bitmap(Base64.getEncoder().encodeToString(bitmap))
+                .failures(failures)
+                .build());
+    }
+
+    /**
+     * This method returns the dictionary of a plan if it has not been sent yet or if dictionaryInterval elapsed since the last time.
+     * Only one of the callers gets the dictionary when it is due.
+     *
+     * @param plan The plan evaluated.
+     * @param now The current time in milliseconds.
+     *
+     * @return The description of the dictionary validation, or null if it is not due.
+    */
+    public String dictionary(ValidationPlan plan, long now) {
+        AtomicLong last = emitted.get(plan.getId());
+        if (last == null) {
+            if (emitted.size() >= MAX_PLANS) {
+                emitted.clear();
+            }
+            last = emitted.computeIfAbsent(plan.getId(), id -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        long previous = last.get();
+        boolean due = previous == Long.MIN_VALUE || (dictionaryInterval > 0 && now - previous >= dictionaryInterval);
+        if (!due || !last.compareAndSet(previous, now)) {
+            return null;
+        }
+
+        List<Checker> checkers = plan.getCheckers();
+        List<RuleDictionary.Entry> rules = new ArrayList<>(checkers.size());
+        for (int i = 0; i < checkers.size(); i++) {
+            rules.add(new RuleDictionary.Entry(i, checkers.get(i).getType(), checkers.get(i).getFeature()));
+        }
+        return this.write(RuleDictionary.builder()
+                .plan(plan.getId())
+                .validator(plan.getName())
+                .dataset(plan.getDataset())
+                .rules(rules)
+                .build());
+    }
+
+    /**
+     * @param description The description of a summary validation.
+     *
+     * @return The decoded SummaryReport.
+     *
+     * If the description is not a SummaryReport, it throws an IllegalArgumentException.
+    */
+    public SummaryReport parse(String description) {
+        try {
+            return mapper.readValue(description, SummaryReport.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Summary %s not valid".formatted(description), e);
+        }
+    }
+
+    private String write(Object report) {
+        try {
+            return mapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
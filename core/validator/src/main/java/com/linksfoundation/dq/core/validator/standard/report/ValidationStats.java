@@ -0,0 +1,51 @@
+package com.linksfoundation.dq.core.validator.standard.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Format of the statistics of a validator in a time window (see {@link StatsAggregator}).
+ * The window starts at start (inclusive) and ends at end (exclusive), in milliseconds since the epoch.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationStats {
+
+    /**
+     * Data Format of the number of samples of a dataset.
+    */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Dataset {
+        private String dataset;
+        private long samples;
+        private long failed;
+    }
+
+    /**
+     * Data Format of the number of results of a rule on the samples of a dataset.
+    */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Outcome {
+        private String dataset;
+        private String rule;
+        private String feature;
+        private long valid;
+        private long fail;
+    }
+
+    private String validator;
+    private long start;
+    private long end;
+    private List<Dataset> datasets;
+    private List<Outcome> outcomes;
+}
@@ -9,6 +9,9 @@ import java.util.List;
 
 /**
  * Data Format used for specifying the possible acceptable values for a variable.
+ * Large sets of values can be read from a dictionary file (one value per line), which is indexed and memory-mapped
+ * instead of being loaded on the heap; bloomFpp sets the false positive probability of its Bloom filter (0 disables it).
+ * A positive cache memoizes the results of up to that many distinct values, which pays off with a large dictionary.
 */
 @Getter
 @Builder
@@ -16,6 +19,11 @@ import java.util.List;
 @AllArgsConstructor
 public class CategoricalSpecs implements Specs{
     private List<String> values;
+    private String dictionary;
+    @Builder.Default
+    private double bloomFpp = 0.01;
+    @Builder.Default
+    private int cache = 0;
     @Builder.Default
     private boolean optional = false;
 }
@@ -7,8 +7,11 @@ import lombok.NoArgsConstructor;
 
 /**
  * Data Format used for the configuration file.
+ * The rules of datasets maps a dataset name, or a glob pattern with * and ?, to the rules of the samples of that dataset.
+ * The samples of the datasets not listed there are checked with rules.
 */
 import java.util.List;
+import java.util.Map;
 @Getter
 @Builder
 @NoArgsConstructor
@@ -17,6 +20,7 @@ public class ConfigYaml {
     @Builder.Default
     private String name = "standard-validator";
     private List<Rule> rules;
+    private Map<String, List<Rule>> datasets;
     @Builder.Default
     private boolean optional = false;
 }
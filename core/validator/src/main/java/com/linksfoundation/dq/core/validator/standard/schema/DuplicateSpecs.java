@@ -0,0 +1,33 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Format used for specifying the detection of duplicate samples: the window in milliseconds in which a duplicate is detected,
+ * the expected number of samples in a window and the false positive probability, which set the memory used by the filter,
+ * the features compared (all of them if not set), whether the timestamp is compared and whether the duplicates are dropped.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateSpecs implements Specs{
+    @Builder.Default
+    private long window = 60000;
+    @Builder.Default
+    private long expected = 100000;
+    @Builder.Default
+    private double fpp = 0.001;
+    private List<String> features;
+    @Builder.Default
+    private boolean includeTs = false;
+    @Builder.Default
+    private boolean drop = false;
+    @Builder.Default
+    private boolean optional = false;
+}
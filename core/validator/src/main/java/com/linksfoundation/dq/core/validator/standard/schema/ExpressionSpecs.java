@@ -0,0 +1,19 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Format used for specifying a condition across the float features of a sample, e.g. power <= voltage * current * 1.05.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpressionSpecs implements Specs{
+    private String expression;
+    @Builder.Default
+    private boolean optional = false;
+}
@@ -0,0 +1,20 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Format used for specifying which values of a variable are considered missing.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MissingSpecs implements Specs{
+    @Builder.Default
+    private boolean finite = false;
+    @Builder.Default
+    private boolean optional = false;
+}
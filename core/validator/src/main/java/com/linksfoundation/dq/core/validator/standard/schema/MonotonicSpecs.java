@@ -0,0 +1,23 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Format used for specifying that the timestamps of the samples of the same key must not go backwards (or must strictly increase).
+ * The state of a key is evicted after idleTimeout milliseconds without samples.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonotonicSpecs implements Specs{
+    @Builder.Default
+    private boolean strict = false;
+    @Builder.Default
+    private long idleTimeout = 600000;
+    @Builder.Default
+    private boolean optional = false;
+}
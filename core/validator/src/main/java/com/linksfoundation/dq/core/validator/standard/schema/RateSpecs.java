@@ -0,0 +1,22 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Format used for specifying the maximum rate of change of a variable, in units per second, between consecutive samples of the same key.
+ * The state of a key is evicted after idleTimeout milliseconds without samples.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateSpecs implements Specs{
+    private Double max;
+    @Builder.Default
+    private long idleTimeout = 600000;
+    @Builder.Default
+    private boolean optional = false;
+}
@@ -0,0 +1,26 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Format used for specifying the reference dataset of a string feature: either a text file with one key per line,
+ * polled every refresh milliseconds, or a compacted Kafka topic whose record keys are the reference keys.
+ * The validator waits at most timeout milliseconds for the topic to be read when the rule is compiled for the first time.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceSpecs implements Specs{
+    private String file;
+    private String topic;
+    @Builder.Default
+    private long refresh = 60000;
+    @Builder.Default
+    private long timeout = 30000;
+    @Builder.Default
+    private boolean optional = false;
+}
@@ -2,10 +2,29 @@ package com.linksfoundation.dq.core.validator.standard.schema;
 
 import lombok.*;
 
+/**
+ * Data Format used for specifying the regular expression a variable must match.
+ * The LINEAR engine (RE2/J) guarantees a matching time linear in the length of the value, but it does not support
+ * backreferences and lookarounds. The budget bounds the work of the BACKTRACKING engine (java.util.regex) on a single value,
+ * as the number of characters read: when it is exceeded the value fails the check. The bound is opt-in, since it wraps every value:
+ * the default budget of 0 disables it, and an untrusted expression should either set a budget or use the LINEAR engine.
+ * A positive cache memoizes the results of up to that many distinct values (see {@link com.linksfoundation.dq.core.validator.standard.checker.CachedStringChecker}).
+*/
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class RegexSpecs implements Specs{
+    public enum Engine {
+        BACKTRACKING,
+        LINEAR
+    }
+
     private String regex;
+    @Builder.Default
+    private Engine engine = Engine.BACKTRACKING;
+    @Builder.Default
+    private long budget = 0;
+    @Builder.Default
+    private int cache = 0;
 }
@@ -0,0 +1,26 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Format used for specifying the features a sample must have and their data types, e.g. {temperature: FLOAT, status: STRING}.
+ * The features listed in missing may be absent; the features not listed in features make the rule fail unless unexpected is set.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaSpecs implements Specs{
+    private Map<String, DatatypeSpecs.Type> features;
+    private List<String> missing;
+    @Builder.Default
+    private boolean unexpected = false;
+    @Builder.Default
+    private boolean optional = false;
+}
@@ -0,0 +1,28 @@
+package com.linksfoundation.dq.core.validator.standard.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Format used for specifying the rolling z-score check of a variable: the size of the window of last values per key,
+ * the maximum distance from the mean in standard deviations and the number of values needed before checking.
+ * The state of a key is evicted after idleTimeout milliseconds without samples.
+*/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZScoreSpecs implements Specs{
+    @Builder.Default
+    private int window = 100;
+    @Builder.Default
+    private double threshold = 3;
+    @Builder.Default
+    private int minSamples = 10;
+    @Builder.Default
+    private long idleTimeout = 600000;
+    @Builder.Default
+    private boolean optional = false;
+}
@@ -1,29 +1,45 @@
 package com.linksfoundation.dq.core.validator.standard.service;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.linksfoundation.dq.api.validator.service.ValidationManager;
 import com.linksfoundation.dq.api.validator.service.ValidationService;
-import com.linksfoundation.dq.core.validator.standard.exceptions.RuleBadFormatted;
-import com.linksfoundation.dq.core.validator.standard.exceptions.YamlBadFormatted;
-import com.linksfoundation.dq.core.validator.standard.exceptions.RuleNotRecognized;
-import com.linksfoundation.dq.core.validator.standard.schema.*;
+import com.linksfoundation.dq.core.common.config.ConfigWatcher;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.checker.FloatKernels;
+import com.linksfoundation.dq.core.validator.standard.compiler.DatasetPlans;
+import com.linksfoundation.dq.core.validator.standard.compiler.RuleCompiler;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import com.linksfoundation.dq.core.validator.standard.metrics.CacheMetrics;
+import com.linksfoundation.dq.core.validator.standard.metrics.RuleProfiler;
+import com.linksfoundation.dq.core.validator.standard.reference.ReferenceSets;
+import com.linksfoundation.dq.core.validator.standard.report.StatsAggregator;
+import com.linksfoundation.dq.core.validator.standard.report.SummaryReport;
+import com.linksfoundation.dq.core.validator.standard.report.SummaryReporter;
+import com.linksfoundation.dq.core.validator.standard.shedding.LoadShedder;
 import com.linksfoundation.dq.api.model.Sample;
 import com.linksfoundation.dq.api.model.Validation;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.LinkedList;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -31,15 +47,70 @@ public class StandardValidatorService extends ValidationService {
 
     @Value(value = "${CONFIG_FILE}")
     private String configFile;
-    private static final String DOMAIN_LABEL = "domain";
-    private static final String STRLEN_LABEL = "strlen";
-    private static final String DATATYPE_LABEL = "datatype";
-    private static final String CATEGORICAL_LABEL = "categorical";
-    private static final String MISSING_LABEL = "missing";
-    private static final String REGEX_LABEL = "regex";
-
-    protected StandardValidatorService(ValidationManager manager) {
+    @Value(value = "${CONFIG_RELOAD_INTERVAL:5000}")
+    private long configReloadInterval;
+    @Value(value = "${VALIDATION_SIMD:true}")
+    private boolean simd;
+    @Value(value = "${DICTIONARY_INDEX_DIR:/tmp/dq-dictionaries}")
+    private String dictionaryIndexDir;
+    @Value(value = "${VALIDATION_PROFILING:false}")
+    private boolean profiling;
+    @Value(value = "${VALIDATION_PROFILING_SAMPLE_RATE:0.01}")
+    private double profilingSampleRate;
+    @Value(value = "${VALIDATION_PROFILING_TOP:10}")
+    private int profilingTop;
+    @Value(value = "${VALIDATION_PROFILING_LOG_INTERVAL:60000}")
+    private long profilingLogInterval;
+    @Value(value = "${VALIDATION_SHEDDING:false}")
+    private boolean shedding;
+    @Value(value = "${VALIDATION_SHEDDING_MODE:SAMPLE}")
+    private LoadShedder.Mode sheddingMode;
+    @Value(value = "${VALIDATION_SHEDDING_ENTER_LAG:30000}")
+    private long sheddingEnterLag;
+    @Value(value = "${VALIDATION_SHEDDING_EXIT_LAG:5000}")
+    private long sheddingExitLag;
+    @Value(value = "${VALIDATION_SHEDDING_FRACTION:0.1}")
+    private double sheddingFraction;
+    @Value(value = "${VALIDATION_SHEDDING_CHEAP_RULES:domain,missing,datatype,strlen,categorical}")
+    private Set<String> sheddingCheapRules;
+    @Value(value = "${VALIDATION_OUTPUT:RULES}")
+    private SummaryReporter.Output output;
+    @Value(value = "${VALIDATION_SUMMARY_DICTIONARY_INTERVAL:60000}")
+    private long summaryDictionaryInterval;
+    @Value(value = "${VALIDATION_STATS:false}")
+    private boolean stats;
+    @Value(value = "${VALIDATION_STATS_TOPIC:validation-stats}")
+    private String statsTopic;
+    @Value(value = "${VALIDATION_STATS_WINDOW:60000}")
+    private long statsWindow;
+    @Value(value = "${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    @Value(value = "${SECURITY_PROTOCOL:PLAINTEXT}")
+    private String securityProtocol;
+    @Value(value = "${SASL_MECHANISM:PLAIN}")
+    private String saslMechanism;
+    @Value(value = "${SASL_JAAS_CONFIG:}")
+    private String saslJaasConfig;
+    @Value(value = "${TRUSTSTORE_LOCATION:}")
+    private String truststoreLocation;
+    @Value(value = "${TRUSTSTORE_PASSWORD:}")
+    private String truststorePassword;
+    @Value(value = "${ENDPOINT_IDENTIFICATION_ALGORITHM:}")
+    private String endpointIdentificationAlgorithm;
+    private final MeterRegistry registry;
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
+    private ConfigWatcher<DatasetPlans> config;
+    private RuleProfiler profiler;
+    private LoadShedder shedder;
+    private SummaryReporter reporter;
+    private StatsAggregator aggregator;
+    private ReferenceSets references;
+
+    protected StandardValidatorService(ValidationManager manager, MeterRegistry registry,
+                                       ReactiveKafkaProducerTemplate<String, byte[]> producer) {
         super(manager);
+        this.registry = registry;
+        this.producer = producer;
     }
 
     /**
@@ -49,325 +120,317 @@ public class StandardValidatorService extends ValidationService {
      * @param validations A Flux stream of Validation objects that are to be applied to the sample.
      *
      * @return A Mono of the Sample object after validation. The state of the sample is set to FAIL if any of the validations fail. If all validations pass, the state of the sample is set to VALID.
+     *         The Mono is empty if a failed rule discards the sample (e.g. a duplicate rule with drop set).
+     *         If the sample was not checked with all the rules because the validator is overloaded (see {@link LoadShedder}),
+     *         its metadata records whether it was skipped or partially validated.
+     *         With VALIDATION_OUTPUT=SUMMARY, the validations are the summary and dictionary validations of {@link SummaryReporter}.
+     *         With VALIDATION_OUTPUT=STATE, the validation is the one of the first failing rule, or a state validation.
+     *
+     * The validations are read with the plans currently active; to read them with the plans they were computed with
+     * even if the configuration is reloaded in between, see {@link #validate(Sample, Flux, DatasetPlans)}.
     */
     public Mono<Sample> validate(Sample sample, Flux<Validation> validations) {
-        return validations
-                .filter(validation -> validation.getResult() == Validation.Result.FAIL)
-                .hasElements()
-                .flatMap(result -> {
+        return this.validate(sample, validations, config.get());
+    }
+
+    /**
+     * This method validates a given sample based on a series of validations computed with the given plans.
+     *
+     * @param sample The sample to be validated.
+     * @param validations The validations returned by {@link #check(Sample, DatasetPlans)} for the sample.
+     * @param plans The plans passed to {@link #check(Sample, DatasetPlans)}, so that the rules dropping a sample and the number
+     *              of rules of its dataset are the ones the validations were computed with.
+     *
+     * @return The validated sample, as described in {@link #validate(Sample, Flux)}.
+    */
+    public Mono<Sample> validate(Sample sample, Flux<Validation> validations, DatasetPlans plans) {
+        ValidationPlan plan = plans.get(sample.getDataset());
+        if (shedder == null && !plan.isDropping()) {
+            return validations
+                    .any(validation -> validation.getResult() == Validation.Result.FAIL)
+                    .map(failed -> Sample.newBuilder(sample)
+                            .setState(failed ? Sample.States.FAIL : Sample.States.VALID)
+                            .build());
+        }
 
-                    Sample.Builder ret = Sample.newBuilder(sample);
-                    if (result.booleanValue()) {
-                        return Mono.just(ret.setState(Sample.States.FAIL).build());
+        return validations
+                .collectList()
+                .flatMap(results -> {
+                    boolean failed = false;
+                    int checked = 0;
+                    for (Validation validation : results) {
+                        if (reporter != null && SummaryReporter.DICTIONARY_TYPE.equals(validation.getType())) {
+                            continue;
+                        }
+                        if (reporter != null && SummaryReporter.SUMMARY_TYPE.equals(validation.getType())) {
+                            SummaryReport report = reporter.parse(validation.getDescription());
+                            for (SummaryReport.Failure failure : report.getFailures()) {
+                                if (plan.drops(failure.getRule(), failure.getFeature())) {
+                                    return Mono.empty();
+                                }
+                            }
+                            checked += report.getRules();
+                            failed |= validation.getResult() == Validation.Result.FAIL;
+                            continue;
+                        }
+
+                        checked++;
+                        if (validation.getResult() == Validation.Result.FAIL) {
+                            if (plan.drops(validation.getType(), validation.getFeature())) {
+                                return Mono.empty();
+                            }
+                            failed = true;
+                        }
                     }
-                    else {
-                        return Mono.just(ret.setState(Sample.States.VALID).build());
+
+                    Sample.Builder builder = Sample.newBuilder(sample)
+                            .setState(failed ? Sample.States.FAIL : Sample.States.VALID);
+                    if (results.isEmpty() && !plan.getCheckers().isEmpty()) {
+                        builder.putMetadata(LoadShedder.COVERAGE_METADATA, LoadShedder.SKIPPED);
+                    } else if (output == SummaryReporter.Output.STATE
+                            ? LoadShedder.PARTIAL.equals(results.get(0).getDescription())
+                            : checked < plan.getCheckers().size()) {
+                        builder.putMetadata(LoadShedder.COVERAGE_METADATA, LoadShedder.PARTIAL);
                     }
+                    return Mono.just(builder.build());
                 });
     }
 
     /**
-     * This method checks a given sample based on a set of rules defined in a YAML configuration file.
+     * This method checks a given sample based on the rules compiled from the YAML configuration file for its dataset.
      *
      * @param sample The sample to be checked. This is an instance of the Sample class.
      *
      * @return A Flux stream of Validation objects that represent the result of each check on the sample.
      *
      * The method works as follows:
-     * - It parses the YAML configuration file to get a list of rules.
-     * - For each rule, it determines the type of the rule and performs the corresponding check on the sample.
-     * - It adds the result of each check (a Mono of Validation) to a list.
-     * - Finally, it merges all the Monos in the list into a Flux stream and returns it.
+     * - It looks up the compiled ValidationPlan of the dataset of the sample (see {@link DatasetPlans}).
+     * - It evaluates the plan on the sample synchronously, collecting the result of each checker
+     *   (through the RuleProfiler when VALIDATION_PROFILING is enabled, unless the sample is checked with the cheap rules only).
+     * - It counts the results in the statistics of the current window when VALIDATION_STATS is enabled (see {@link StatsAggregator}).
+     * - It creates a Validation object for each checker and returns them as a Flux stream,
+     *   or a single summary of all the checkers with VALIDATION_OUTPUT=SUMMARY (see {@link SummaryReporter}).
      *
-     * The checks performed are based on the type of the rule and can be one of the following:
-     * - Domain check
-     * - String length check
-     * - Data type check
-     * - Categorical check
-     * - Missing value check
-     * - Regular expression check
+     * With VALIDATION_OUTPUT=STATE, the checkers stop at the first failure instead, and only that failure is returned (see {@link #failFast}).
      *
-     * If a rule type is not recognized, it throws a RuleNotRecognized exception.
+     * The checkers are built by the RuleCompiler when the configuration file is loaded (see {@link #compile()}), so no YAML parsing happens here.
+     * The plans are read once, so a reload of the configuration never affects a sample that is already being checked.
+     * When the validator is overloaded, the sample may be skipped or checked with the cheap rules only (see {@link LoadShedder}).
     */
     public Flux<Validation> check(Sample sample) {
-        List<Mono<Validation>> checks = new LinkedList<>();
-        ConfigYaml yaml = this.parseYamlFile(configFile);
-        for (Rule rule : yaml.getRules()) {
-            switch (rule.getName()) {
-                case DOMAIN_LABEL:
-                    DomainSpecs domainSpecs = (DomainSpecs) this.parseYamlObject(rule.getSpecs(), DomainSpecs.class);
-                    checks.add(this.checkDomain(sample, yaml.getName(), rule.getFeature(), domainSpecs));
-                    break;
-                case STRLEN_LABEL:
-                    StrlenSpecs strlenSpecs = (StrlenSpecs) this.parseYamlObject(rule.getSpecs(), StrlenSpecs.class);
-                    checks.add(this.checkStrlen(sample, yaml.getName(), rule.getFeature(), strlenSpecs));
-                    break;
-                case DATATYPE_LABEL:
-                    DatatypeSpecs datatypeSpecs = (DatatypeSpecs) this.parseYamlObject(rule.getSpecs(), DatatypeSpecs.class);
-                    checks.add(this.checkDatatype(sample, yaml.getName(), rule.getFeature(), datatypeSpecs));
-                    break;
-                case CATEGORICAL_LABEL:
-                    CategoricalSpecs categoricalSpecs = (CategoricalSpecs) this.parseYamlObject(rule.getSpecs(), CategoricalSpecs.class);
-                    checks.add(this.checkCategorical(sample, yaml.getName(), rule.getFeature(), categoricalSpecs));
-                    break;
-                case MISSING_LABEL:
-                    checks.add(this.checkMissing(sample, yaml.getName(), rule.getFeature()));
-                    break;
-                case REGEX_LABEL:
-                    RegexSpecs regexSpecs = (RegexSpecs) this.parseYamlObject(rule.getSpecs(), RegexSpecs.class);
-                    checks.add(this.checkRegex(sample, yaml.getName(), rule.getFeature(), regexSpecs));
-                    break;
-                default:
-                    throw new RuleNotRecognized();
-            }
-        }
-
-        return Flux.merge(checks);
+        return this.check(sample, config.get());
     }
 
     /**
-     * This method parses a YAML configuration file and returns a ConfigYaml object.
+     * This method checks a given sample with the given plans, as described in {@link #check(Sample)}.
+     * Callers that need the sample to be validated with the same rules it was checked with read the plans once
+     * with {@link #getPlans()} and pass them to both this method and {@link #validate(Sample, Flux, DatasetPlans)}.
      *
-     * @param path The path to the YAML configuration file.
+     * @param sample The sample to be checked.
+     * @param plans The plans of the configuration.
      *
-     * @return A ConfigYaml object that represents the configuration defined in the YAML file.
+     * @return The validations of the sample.
     */
-    protected ConfigYaml parseYamlFile(String path) {
-        ObjectMapper om = new ObjectMapper(new YAMLFactory());
+    public Flux<Validation> check(Sample sample, DatasetPlans plans) {
+        boolean reduced = false;
+        if (shedder != null) {
+            switch (shedder.decide(sample, System.currentTimeMillis())) {
+                case SKIP:
+                    return Flux.empty();
+                case CHEAP:
+                    plans = shedder.cheap(plans);
+                    reduced = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+        ValidationPlan plan = plans.get(sample.getDataset());
+        if (output == SummaryReporter.Output.STATE) {
+            return Flux.just(this.failFast(sample, plan, reduced));
+        }
+
+        List<Checker> checkers = plan.getCheckers();
+        boolean[] results = new boolean[checkers.size()];
+        if (profiler != null && !reduced) {
+            profiler.evaluate(plans, plan, sample, results);
+        } else {
+            plan.evaluate(sample, results);
+        }
+        if (aggregator != null) {
+            aggregator.record(sample.getDataset(), plan, results);
+        }
 
-        try {
-            File file = new File(path);
-            return om.readValue(file, ConfigYaml.class);
+        if (reporter != null) {
+            return Flux.fromIterable(this.summarize(sample, plan, results));
+        }
 
-        } catch (IOException e) {
-            throw new YamlBadFormatted();
+        Validation[] validations = new Validation[results.length];
+        for (int i = 0; i < results.length; i++) {
+            Checker checker = checkers.get(i);
+            validations[i] = this.createValidation(
+                    sample.getTs(), plan.getName(), checker.getFeature(), checker.getType(), results[i]);
+            if (!results[i]) {
+                String description = checker.describe(sample);
+                if (!description.isEmpty()) {
+                    validations[i] = validations[i].toBuilder().setDescription(description).build();
+                }
+            }
         }
+
+        return Flux.fromArray(validations);
     }
 
     /**
-     * This method parses a YAML object and returns an instance of a specified class.
-     *
-     * @param specs The YAML object to be parsed. This is an instance of the Object class.
-     * @param schema The class that the YAML object should be mapped to.
-     *
-     * @return An instance of the specified class that represents the parsed YAML object.
+     * @return The plans of the configuration currently active.
     */
-    protected Object parseYamlObject(Object specs, Class<? extends Specs> schema) {
-        ObjectMapper om = new ObjectMapper();
-        om.setSerializationInclusion(JsonInclude.Include.ALWAYS);
-
-        try {
-            byte[] json = om.writeValueAsBytes(specs);
-            return om.readValue(json, schema);
-        } catch (IOException e) {
-            throw new RuleBadFormatted();
-        }
+    public DatasetPlans getPlans() {
+        return config.get();
     }
 
     /**
-     * This method checks if the values of a specific feature in a sample fall within a specified domain.
-     *
-     * @param sample The sample to be checked. This is an instance of the Sample class.
-     * @param name The name of the check.
-     * @param feature The feature in the sample to be checked.
-     * @param specs The specifications of the domain. This is an instance of the DomainSpecs class.
-     *
-     * @return A Mono of a Validation object that represents the result of the check.
-     *
-     * The method works as follows:
-     * - It checks if the sample contains the feature.
-     * - If the sample contains the feature, it gets the list of values of the feature.
-     * - For each value, it checks if it falls within the specified domain.
-     * - It adds the result of each check to a list.
-     * - It creates a Validation object with the results of the checks and returns it as a Mono.
-     * - If the sample does not contain the feature, it returns a Validation object with a failed check.
+     * This method compiles the YAML configuration file into the DatasetPlans used by {@link #check(Sample)}
+     * and starts watching the file, so that changes to the rules are applied without restarting the service.
+     * If the file or one of its rules is not valid, the exception is raised at startup instead of on every sample.
     */
-    protected Mono<Validation> checkDomain(Sample sample, String name, String feature, DomainSpecs specs) {
-
-        List<Boolean> checks = new LinkedList<>();
+    @PostConstruct
+    public void compile() {
+        this.references = new ReferenceSets(this::createReferenceConsumer);
+        RuleCompiler compiler = new RuleCompiler(FloatKernels.select(simd), Path.of(dictionaryIndexDir), references);
+        CacheMetrics cacheMetrics = new CacheMetrics(registry);
+        this.config = new ConfigWatcher<>(configFile, path -> {
+            DatasetPlans plans = compiler.compileDatasets(path);
+            cacheMetrics.bind(plans);
+            return plans;
+        }, compiler::release);
+        this.config.bindTo(registry);
+        this.config.start(configReloadInterval);
+
+        if (shedding) {
+            this.shedder = new LoadShedder(sheddingMode, sheddingEnterLag, sheddingExitLag, sheddingFraction, sheddingCheapRules);
+            this.shedder.bindTo(registry);
+        }
 
-        if (sample.getFloatDataMap().containsKey(feature)) {
-            List<Float> values = sample.getFloatDataMap().get(feature).getElementList();
+        if (output == SummaryReporter.Output.SUMMARY) {
+            this.reporter = new SummaryReporter(summaryDictionaryInterval);
+        }
+        if (output == SummaryReporter.Output.STATE && (stats || profiling)) {
+            log.warn("VALIDATION_OUTPUT=STATE stops at the first failing rule: VALIDATION_STATS and VALIDATION_PROFILING are not updated");
+        }
 
-            for (Float value : values) {
-                if (specs.getMin() != null && specs.getMax() != null) {
-                    checks.add(value >= specs.getMin() && value <= specs.getMax());
-                } else {
-                    if (specs.getMax() == null) {
-                        checks.add(value >= specs.getMin());
-                    } else {
-                        checks.add(value <= specs.getMax());
-                    }
-                }
-            }
+        if (stats) {
+            this.aggregator = new StatsAggregator(() -> config.get().getDefaultPlan().getName(), statsWindow, this::sendStats);
+            this.aggregator.start();
+        }
 
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, DOMAIN_LABEL, checks));
-        } else {
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, DOMAIN_LABEL, List.of(false)));
+        if (profiling) {
+            this.profiler = new RuleProfiler(registry, profilingSampleRate, profilingTop);
+            this.profiler.start(profilingLogInterval);
         }
     }
 
-    /**
-     * This method checks if the lengths of the string values of a specific feature in a sample meet a specified condition.
-     *
-     * @param sample The sample to be checked. This is an instance of the Sample class.
-     * @param name The name of the check.
-     * @param feature The feature in the sample to be checked.
-     * @param specs The specifications of the string length condition. This is an instance of the StrlenSpecs class.
-     *
-     * @return A Mono of a Validation object that represents the result of the check.
-     *
-     * The method works as follows:
-     * - It checks if the sample contains the feature.
-     * - If the sample contains the feature, it gets the list of string values of the feature.
-     * - For each value, it checks if its length meets the specified condition (EXACT, LOWER, or UPPER).
-     * - It adds the result of each check to a list.
-     * - It creates a Validation object with the results of the checks and returns it as a Mono.
-     * - If the sample does not contain the feature, it returns a Validation object with a failed check.
-    */
-    protected Mono<Validation> checkStrlen(Sample sample, String name, String feature, StrlenSpecs specs) {
-        List<Boolean> checks = new LinkedList<>();
-
-        if (sample.getStringDataMap().containsKey(feature)) {
-            List<String> values = sample.getStringDataMap().get(feature).getElementList();
-            for (String value : values) {
-                switch (specs.getLenType()) {
-                    case EXACT -> checks.add(value.length() == specs.getLen());
-                    case LOWER -> checks.add(value.length() < specs.getLen());
-                    case UPPER -> checks.add(value.length() > specs.getLen());
-                }
-            }
-
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, STRLEN_LABEL, checks));
-        } else {
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, STRLEN_LABEL, List.of(false)));
+    @PreDestroy
+    public void close() {
+        this.config.close();
+        if (this.profiler != null) {
+            this.profiler.close();
+        }
+        if (this.aggregator != null) {
+            this.aggregator.close();
         }
+        this.references.close();
     }
 
     /**
-     * This method checks the datatype of a given feature in a sample against the expected datatype specified in the DatatypeSpecs.
+     * This method creates the consumer of a reference topic (see {@link ReferenceSets}).
+     * It has no consumer group, since the reference topics are always read from the beginning, and it uses the same security
+     * settings of the other clients of the validator.
      *
-     * @param sample The Sample object which contains the data to be checked.
-     * @param name The name of the sample.
-     * @param feature The feature in the sample whose datatype needs to be checked.
-     * @param specs The DatatypeSpecs object which contains the expected datatype of the feature.
-     * @return A Mono<Validation> object. If the feature exists in the sample and its datatype matches the expected datatype, 
-     *         the Validation object will contain a list of true values. If the feature does not exist in the sample or its 
-     *         datatype does not match the expected datatype, the Validation object will contain a list with a single false value.
+     * @return A new consumer.
     */
-    protected Mono<Validation> checkDatatype(Sample sample, String name, String feature, DatatypeSpecs specs) {
-        List<Boolean> checks = new LinkedList<>();
-
-        if (sample.getStringDataMap().containsKey(feature) ||
-            sample.getFloatDataMap().containsKey(feature) ||
-            sample.getBoolDataMap().containsKey(feature)) {
-            switch (specs.getType()) {
-                case STRING -> checks.add(
-                        sample.getStringDataMap().containsKey(feature) &&
-                                !sample.getFloatDataMap().containsKey(feature) &&
-                                !sample.getBoolDataMap().containsKey(feature));
-                case INTEGER, FLOAT -> checks.add(
-                        !sample.getStringDataMap().containsKey(feature) &&
-                                sample.getFloatDataMap().containsKey(feature) &&
-                                !sample.getBoolDataMap().containsKey(feature));
-                case BOOLEAN -> checks.add(
-                        !sample.getStringDataMap().containsKey(feature) &&
-                                !sample.getFloatDataMap().containsKey(feature) &&
-                                sample.getBoolDataMap().containsKey(feature));
-            }
-
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, DATATYPE_LABEL, checks));
-        } else {
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, DATATYPE_LABEL, List.of(false)));
+    protected Consumer<String, byte[]> createReferenceConsumer() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, securityProtocol);
+        if (securityProtocol.startsWith("SASL")) {
+            props.put(SaslConfigs.SASL_MECHANISM, saslMechanism);
+            props.put(SaslConfigs.SASL_JAAS_CONFIG, saslJaasConfig);
         }
-
+        if (securityProtocol.endsWith("SSL")) {
+            props.put(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG, truststoreLocation);
+            props.put(SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG, truststorePassword);
+            props.put(SslConfigs.SSL_ENDPOINT_IDENTIFICATION_ALGORITHM_CONFIG, endpointIdentificationAlgorithm);
+        }
+        return new KafkaConsumer<>(props);
     }
 
     /**
-     * This method checks if the string values of a specific feature in a sample are within a specified set of categories.
-     *
-     * @param sample The sample to be checked. This is an instance of the Sample class.
-     * @param name The name of the check.
-     * @param feature The feature in the sample to be checked.
-     * @param specs The specifications of the categorical condition. This is an instance of the CategoricalSpecs class.
+     * This method produces the statistics of a window to VALIDATION_STATS_TOPIC.
      *
-     * @return A Mono of a Validation object that represents the result of the check. If the feature does not exist in the sample or its 
-     *         category does not match the specified categories, the Validation object will contain a list with a single false value.
+     * @param validator The name of the validator, used as key.
+     * @param stats The JSON ValidationStats of the window.
     */
-    protected Mono<Validation> checkCategorical(Sample sample, String name, String feature, CategoricalSpecs specs) {
-        List<Boolean> checks = new LinkedList<>();
-
-        if (sample.getStringDataMap().containsKey(feature)) {
-            List<String> values = sample.getStringDataMap().get(feature).getElementList();
-
-            for (String value : values) {
-                checks.add(specs.getValues().contains(value));
-            }
-
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, CATEGORICAL_LABEL, checks));
-        } else {
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, CATEGORICAL_LABEL, List.of(false)));
-        }
+    protected void sendStats(String validator, byte[] stats) {
+        producer.send(statsTopic, validator, stats)
+                .doOnError(e -> log.error("Statistics not sent to {}: {}", statsTopic, e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
     }
 
     /**
-     * This method checks if a given feature in a sample is missing.
+     * This method checks a sample until the first failing rule, running the rules in the adaptive order of the plan
+     * (see {@link ValidationPlan#firstFailure(Sample)}). The result of every rule is not known, so the samples checked this way
+     * are neither profiled nor counted in the statistics.
      *
-     * @param sample The Sample object which contains the data to be checked.
-     * @param name The name of the sample.
-     * @param feature The feature in the sample that needs to be checked for missing values.
-     * @return A Mono<Validation> object. If the feature exists in the sample and does not contain any NaN values, 
-     *         the Validation object will contain a list of true values. If the feature does not exist in the sample or contains NaN values, 
-     *         the Validation object will contain a list with a single false value.
+     * @param sample The sample to be checked.
+     * @param plan The plan of the sample.
+     * @param reduced true if the plan has the cheap rules only; the description of the validation is then LoadShedder.PARTIAL.
+     *
+     * @return The FAIL validation of the first failing rule, or a VALID validation of type state with the id of the plan as feature.
     */
-    protected Mono<Validation> checkMissing(Sample sample, String name, String feature) {
-        List<Boolean> checks = new LinkedList<>();
-
-        if (sample.getFloatDataMap().containsKey(feature)) {
-            checks.add(!sample.getFloatDataMap().get(feature).getElementList().contains(Float.NaN));
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, MISSING_LABEL, checks));
-        }
-        else {
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, MISSING_LABEL, List.of(false)));
-        }
+    protected Validation failFast(Sample sample, ValidationPlan plan, boolean reduced) {
+        int failed = plan.firstFailure(sample);
+        Validation validation = failed < 0
+                ? this.createValidation(sample.getTs(), plan.getName(), plan.getId(), SummaryReporter.STATE_TYPE, true)
+                : this.createValidation(sample.getTs(), plan.getName(), plan.getCheckers().get(failed).getFeature(),
+                        plan.getCheckers().get(failed).getType(), false).toBuilder()
+                        .setDescription(plan.getCheckers().get(failed).describe(sample))
+                        .build();
+
+        return reduced ? validation.toBuilder().setDescription(LoadShedder.PARTIAL).build() : validation;
     }
 
     /**
-     * This method checks if the values of a given feature in a sample match a specified regular expression.
+     * This method creates the summary validation of a sample, preceded by the dictionary of the plan when it is due.
+     *
+     * @param sample The sample checked.
+     * @param plan The plan evaluated on the sample.
+     * @param results The result of each checker of the plan.
      *
-     * @param sample The Sample object which contains the data to be checked.
-     * @param name The name of the sample.
-     * @param feature The feature in the sample whose values need to be checked against the regular expression.
-     * @param specs The RegexSpecs object which contains the regular expression to be matched.
-     * @return A Mono<Validation> object. For each value of the feature in the sample, if the value matches the regular expression, 
-     *         a true value is added to the list in the Validation object. If the value does not match the regular expression, 
-     *         a false value is added to the list. If the feature does not exist in the sample or the regular expression is invalid, 
-     *         the Validation object will contain a list with a single false value.
+     * @return The validations of the sample.
     */
-    protected Mono<Validation> checkRegex(Sample sample, String name, String feature, RegexSpecs specs) {
-        List<Boolean> checks = new LinkedList<>();
-        Pattern pattern;
-
-        try {
-            pattern = Pattern.compile(specs.getRegex());
-        }
-        catch (PatternSyntaxException e) {
-            pattern = null;
+    protected List<Validation> summarize(Sample sample, ValidationPlan plan, boolean[] results) {
+        boolean valid = true;
+        for (boolean result : results) {
+            valid &= result;
         }
 
-        if (sample.getStringDataMap().containsKey(feature) && pattern != null) {
-            List<String> values = sample.getStringDataMap().get(feature).getElementList();
-            
-            for (String value : values) {
-                Matcher matcher = pattern.matcher(value);
-                checks.add(matcher.matches());
-            }
-            
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, REGEX_LABEL, checks));
-        }
-        else {
-            return Mono.just(this.createValidation(sample.getTs(), name, feature, REGEX_LABEL, List.of(false)));
+        Validation summary = this.createValidation(sample.getTs(), plan.getName(), plan.getId(),
+                SummaryReporter.SUMMARY_TYPE, valid).toBuilder()
+                .setDescription(reporter.summary(plan, results))
+                .build();
+        String dictionary = reporter.dictionary(plan, System.currentTimeMillis());
+        if (dictionary == null) {
+            return List.of(summary);
         }
+
+        return List.of(this.createValidation(sample.getTs(), plan.getName(), plan.getId(),
+                SummaryReporter.DICTIONARY_TYPE, true).toBuilder()
+                .setDescription(dictionary)
+                .build(), summary);
     }
 
     /**
@@ -377,18 +440,18 @@ public class StandardValidatorService extends ValidationService {
      * @param name The name of the validator.
      * @param feature The feature that was validated.
      * @param type The type of validation performed.
-     * @param checks A list of Boolean values representing the results of individual checks performed during the validation.
-     * @return A Validation object. The result of the validation is set to Validation.Result.FAIL if any of the checks failed (i.e., if the list contains a false value), 
-     *         and Validation.Result.VALID otherwise.
+     * @param valid The result of the checker.
+     * @return A Validation object. The result of the validation is set to Validation.Result.VALID if the check passed,
+     *         and Validation.Result.FAIL otherwise.
     */
-    protected Validation createValidation(long ts, String name, String feature, String type, List<Boolean> checks) {
+    protected Validation createValidation(long ts, String name, String feature, String type, boolean valid) {
         return Validation.newBuilder()
                 .setTs(ts)
                 .setValidator(name)
                 .setType(type)
                 .setFeature(feature)
                 .setOptional(Boolean.valueOf("false"))
-                .setResult(checks.contains(false) ? Validation.Result.FAIL : Validation.Result.VALID)
+                .setResult(valid ? Validation.Result.VALID : Validation.Result.FAIL)
                 .build();
     }
 }
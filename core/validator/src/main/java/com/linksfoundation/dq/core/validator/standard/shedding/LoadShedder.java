@@ -0,0 +1,168 @@
+package com.linksfoundation.dq.core.validator.standard.shedding;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.checker.StatefulChecker;
+import com.linksfoundation.dq.core.validator.standard.compiler.DatasetPlans;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class decides how much of the validation to run on a sample, so that the validator can catch up with a backlog.
+ * The load is measured as the lag of the samples (the time elapsed since their timestamp), smoothed over the last samples.
+ * When the lag exceeds enterLag the validator is overloaded and, depending on the mode:
+ * - SAMPLE: only a fraction of the samples of each dataset is validated, evenly spread, and the others are skipped;
+ * - CHEAP: every sample is validated with the cheap rules only (plus the stateful rules, whose state must see every sample).
+ * The validator goes back to the full validation when the lag falls below exitLag.
+*/
+@Slf4j
+public class LoadShedder implements MeterBinder {
+
+    public enum Mode {
+        SAMPLE,
+        CHEAP
+    }
+
+    public enum Decision {
+        FULL,
+        CHEAP,
+        SKIP
+    }
+
+    /**
+     * Metadata key of the samples that were not fully validated, with value SKIPPED or PARTIAL.
+    */
+    public static final String COVERAGE_METADATA = "validationCoverage";
+    public static final String SKIPPED = "skipped";
+    public static final String PARTIAL = "partial";
+
+    private static final double SMOOTHING = 0.05;
+
+    private final Mode mode;
+    private final long enterLag;
+    private final long exitLag;
+    private final double fraction;
+    private final Set<String> cheapRules;
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private volatile double lag;
+    private volatile boolean overloaded;
+    private volatile CheapPlans cheapPlans = new CheapPlans(null, null);
+    private Counter skipped;
+    private Counter reduced;
+
+    /**
+     * @param mode What to do when the validator is overloaded.
+     * @param enterLag The lag in milliseconds above which the validator is overloaded.
+     * @param exitLag The lag in milliseconds below which the validator is no longer overloaded.
+     * @param fraction The fraction of the samples of each dataset validated in SAMPLE mode.
+     * @param cheapRules The rule types run in CHEAP mode.
+    */
+    public LoadShedder(Mode mode, long enterLag, long exitLag, double fraction, Set<String> cheapRules) {
+        this.mode = mode;
+        this.enterLag = enterLag;
+        this.exitLag = Math.min(exitLag, enterLag);
+        this.fraction = fraction;
+        this.cheapRules = cheapRules;
+    }
+
+    /**
+     * This method updates the lag with a given sample and decides how to validate it.
+     *
+     * @param sample The sample to be validated.
+     * @param now The current time in milliseconds.
+     *
+     * @return FULL, or the reduced validation of the mode if the validator is overloaded.
+    */
+    public Decision decide(Sample sample, long now) {
+        if (sample.getTs() > 0) {
+            double current = lag + SMOOTHING * (Math.max(0, now - sample.getTs()) - lag);
+            lag = current;
+            if (!overloaded && current > enterLag) {
+                overloaded = true;
+                log.warn("Validator overloaded (lag {} ms): {} mode", Math.round(current), mode);
+            } else if (overloaded && current < exitLag) {
+                overloaded = false;
+                log.info("Validator back to full validation (lag {} ms)", Math.round(current));
+            }
+        }
+
+        if (!overloaded) {
+            return Decision.FULL;
+        }
+
+        if (mode == Mode.CHEAP) {
+            this.count(reduced);
+            return Decision.CHEAP;
+        }
+
+        long n = counters.computeIfAbsent(sample.getDataset(), d -> new AtomicLong()).getAndIncrement();
+        if (Math.floor((n + 1) * fraction) > Math.floor(n * fraction)) {
+            return Decision.FULL;
+        }
+        this.count(skipped);
+        return Decision.SKIP;
+    }
+
+    /**
+     * @param plans The active plans.
+     *
+     * @return The plans made of the cheap and the stateful checkers of the active plans. They are built once per configuration.
+    */
+    public DatasetPlans cheap(DatasetPlans plans) {
+        CheapPlans current = cheapPlans;
+        if (current.full() != plans) {
+            synchronized (this) {
+                current = cheapPlans;
+                if (current.full() != plans) {
+                    current = new CheapPlans(plans, plans.map(plan -> new ValidationPlan(plan.getName(), plan.getDataset(), plan.getCheckers().stream()
+                            .filter(this::isCheap)
+                            .toList())));
+                    cheapPlans = current;
+                }
+            }
+        }
+
+        return current.cheap();
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("dq.validation.lag", this, shedder -> shedder.lag)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("dq.validation.overloaded", this, shedder -> shedder.overloaded ? 1 : 0)
+                .register(registry);
+        skipped = Counter.builder("dq.validation.shed").tag("decision", "skip").register(registry);
+        reduced = Counter.builder("dq.validation.shed").tag("decision", "cheap").register(registry);
+    }
+
+    /**
+     * The cheap plans built from the full ones, published together so that a reader never pairs the cheap plans of a configuration
+     * with the full plans of another.
+    */
+    private record CheapPlans(DatasetPlans full, DatasetPlans cheap) {
+    }
+
+    private boolean isCheap(Checker checker) {
+        return checker instanceof StatefulChecker || cheapRules.contains(checker.getType());
+    }
+
+    private void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
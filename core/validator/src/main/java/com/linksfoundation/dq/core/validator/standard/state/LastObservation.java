@@ -0,0 +1,19 @@
+package com.linksfoundation.dq.core.validator.standard.state;
+
+import lombok.Getter;
+
+/**
+ * The timestamp and the value of the last sample of a key.
+*/
+@Getter
+public class LastObservation extends StateStore.Entry {
+    private boolean present;
+    private long ts;
+    private float value;
+
+    public void set(long ts, float value) {
+        this.present = true;
+        this.ts = ts;
+        this.value = value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.linksfoundation.dq.core.validator.standard.state;
+
+/**
+ * The last values of a feature for a key, kept in a ring buffer of floats.
+ * Mean and variance are updated incrementally (Welford's algorithm, with the removal of the oldest value once the window is full),
+ * so each update costs O(1) whatever the size of the window.
+*/
+public class RollingWindow extends StateStore.Entry {
+    private final float[] ring;
+    private int head;
+    private int count;
+    private double mean;
+    private double m2;
+
+    public RollingWindow(int size) {
+        this.ring = new float[size];
+    }
+
+    /**
+     * @param value The value to be added to the window, replacing the oldest one when the window is full.
+    */
+    public void add(float value) {
+        if (count < ring.length) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        } else {
+            float oldest = ring[head];
+            double previous = mean;
+            mean += ((double) value - oldest) / count;
+            m2 += ((double) value - oldest) * (value - mean + oldest - previous);
+            m2 = Math.max(m2, 0);
+        }
+
+        ring[head] = value;
+        head = head + 1 == ring.length ? 0 : head + 1;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * @return The sample standard deviation of the values of the window, or 0 if it holds less than two values.
+    */
+    public double std() {
+        return count < 2 ? 0 : Math.sqrt(m2 / (count - 1));
+    }
+}
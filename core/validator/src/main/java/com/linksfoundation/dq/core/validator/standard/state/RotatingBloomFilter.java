@@ -0,0 +1,102 @@
+package com.linksfoundation.dq.core.validator.standard.state;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A set of 64-bit fingerprints seen in the last window milliseconds, with a fixed memory budget and a bounded false positive rate.
+ * It is made of two Bloom filters, each one sized for the expected number of fingerprints of a window: new fingerprints are added
+ * to the current filter, and lookups check both. Every window milliseconds the previous filter is dropped and the current one
+ * takes its place, so a fingerprint is remembered for at least one window and at most two.
+ *
+ * Each filter is sized for fpp / 2, so the false positive rate of the lookup over both stays below fpp.
+ * The filter is thread-safe: every bit is set atomically, but the bits of a fingerprint are set one by one, so two threads adding
+ * the same fingerprint at once may both see it as new.
+*/
+public class RotatingBloomFilter {
+
+    private static final class Generation {
+        private final AtomicLongArray words;
+        private final long expires;
+
+        private Generation(int words, long expires) {
+            this.words = new AtomicLongArray(words);
+            this.expires = expires;
+        }
+    }
+
+    private final int words;
+    private final int hashes;
+    private final long window;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    /**
+     * @param expected The expected number of distinct fingerprints in a window.
+     * @param fpp The target false positive probability.
+     * @param window The duration of a window in milliseconds.
+    */
+    public RotatingBloomFilter(long expected, double fpp, long window) {
+        double p = fpp / 2;
+        long bits = (long) Math.ceil(-expected * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.hashes = Math.max(1, (int) Math.round(-Math.log(p) / Math.log(2)));
+        this.window = window;
+        long now = System.currentTimeMillis();
+        this.previous = new Generation(words, now);
+        this.current = new Generation(words, now + window);
+    }
+
+    /**
+     * This method adds a fingerprint to the set.
+     *
+     * @param fingerprint The fingerprint of a sample.
+     *
+     * @return true if the fingerprint was (probably) already in the set, false if it is new.
+    */
+    public boolean add(long fingerprint) {
+        Generation generation = this.rotate(System.currentTimeMillis());
+        Generation older = previous;
+
+        long bits = (long) words * 64;
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        boolean seen = true;
+        boolean seenBefore = older != generation;
+        for (int k = 0; k < hashes; k++) {
+            long bit = Math.floorMod(h1 + (long) k * h2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << (bit & 63);
+            if ((generation.words.getAndAccumulate(index, mask, (word, m) -> word | m) & mask) == 0) {
+                seen = false;
+            }
+            if (seenBefore && (older.words.get(index) & mask) == 0) {
+                seenBefore = false;
+            }
+        }
+
+        return seen || seenBefore;
+    }
+
+    /**
+     * @return The number of bytes used by the two filters.
+    */
+    public long size() {
+        return 2L * words * 8;
+    }
+
+    private Generation rotate(long now) {
+        Generation generation = current;
+        if (now < generation.expires) {
+            return generation;
+        }
+
+        synchronized (this) {
+            if (now >= current.expires) {
+                Generation next = new Generation(words, now + window);
+                previous = now - current.expires < window ? current : next;
+                current = next;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.linksfoundation.dq.core.validator.standard.state;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The per-key state of a stateful checker, indexed by Sample.key.
+ * The state of a key has a fixed size, so the memory used by a store only depends on the number of keys seen recently:
+ * the keys that did not receive a sample for idleTimeout milliseconds are evicted, at most every idleTimeout / 2 milliseconds
+ * by the thread that happens to access the store, so no background thread is needed.
+ *
+ * The store is thread-safe; the updates of a single state must be synchronized on the state itself.
+ *
+ * @param <S> The type of the state of a key.
+*/
+public class StateStore<S extends StateStore.Entry> {
+
+    /**
+     * Base class of the states, holding the last time the key was seen.
+    */
+    public abstract static class Entry {
+        volatile long lastSeen;
+    }
+
+    private final Map<String, S> states = new ConcurrentHashMap<>();
+    private final Supplier<S> factory;
+    private final long idleTimeout;
+    private final AtomicLong nextEviction;
+
+    /**
+     * @param factory The supplier of the initial state of a new key.
+     * @param idleTimeout The number of milliseconds after which the state of an idle key is evicted.
+    */
+    public StateStore(Supplier<S> factory, long idleTimeout) {
+        this.factory = factory;
+        this.idleTimeout = idleTimeout;
+        this.nextEviction = new AtomicLong(System.currentTimeMillis() + idleTimeout / 2);
+    }
+
+    /**
+     * This method returns the state of a key, creating it if the key is new.
+     * A state evicted concurrently, before its lastSeen was updated, is not returned: the state of the key is created again.
+     *
+     * @param key The key of the sample.
+     *
+     * @return The state of the key.
+    */
+    public S get(String key) {
+        long now = System.currentTimeMillis();
+        long next = nextEviction.get();
+        if (now >= next && nextEviction.compareAndSet(next, now + idleTimeout / 2)) {
+            this.evict(now - idleTimeout);
+        }
+
+        while (true) {
+            S state = states.computeIfAbsent(key, k -> factory.get());
+            state.lastSeen = now;
+            if (states.get(key) == state) {
+                return state;
+            }
+        }
+    }
+
+    /**
+     * This method removes the states of the keys not seen since a given time.
+     * The idleness of a state is checked again atomically before removing it, so a key seen meanwhile is kept.
+     *
+     * @param threshold The time in milliseconds before which a key is considered idle.
+    */
+    public void evict(long threshold) {
+        for (Map.Entry<String, S> entry : states.entrySet()) {
+            if (entry.getValue().lastSeen < threshold) {
+                states.computeIfPresent(entry.getKey(), (key, state) -> state.lastSeen < threshold ? null : state);
+            }
+        }
+    }
+
+    /**
+     * @return The number of keys with a state.
+    */
+    public int size() {
+        return states.size();
+    }
+}
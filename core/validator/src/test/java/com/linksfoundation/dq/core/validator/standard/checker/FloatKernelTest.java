@@ -0,0 +1,54 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloatKernelTest {
+
+    private final FloatKernel scalar = new ScalarFloatKernel();
+    private final FloatKernel vector = FloatKernels.select(true);
+
+    private static float[] array(int length, int position, float value) {
+        Random random = new Random(length);
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = i == position ? value : random.nextFloat() * 100;
+        }
+        return values;
+    }
+
+    @Test
+    public void testVectorKernelAvailable() {
+        // the vectorized kernel is compiled apart, so it is only known by name here
+        assertEquals("VectorFloatKernel", vector.getClass().getSimpleName());
+    }
+
+    @Test
+    public void testKernelsAgree() {
+        float[] specials = {Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, -1f, 100f, 50f};
+
+        for (int length : new int[]{0, 1, 63, 64, 65, 200, 1031}) {
+            for (int position : new int[]{-1, 0, length / 2, length - 1}) {
+                for (float special : specials) {
+                    float[] values = array(length, position, special);
+                    String message = "length %d position %d value %f".formatted(length, position, special);
+
+                    assertEquals(scalar.allInRange(values, length, 0, 100), vector.allInRange(values, length, 0, 100), message);
+                    assertEquals(scalar.noneNaN(values, length), vector.noneNaN(values, length), message);
+                    assertEquals(scalar.allFinite(values, length), vector.allFinite(values, length), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testScalarKernel() {
+        assertFalse(scalar.allInRange(array(10, 3, Float.NaN), 10, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY));
+        assertTrue(scalar.noneNaN(array(10, 3, Float.POSITIVE_INFINITY), 10));
+        assertFalse(scalar.allFinite(array(10, 3, Float.POSITIVE_INFINITY), 10));
+        assertTrue(scalar.allInRange(array(10, 3, Float.NaN), 3, 0, 100));
+    }
+}
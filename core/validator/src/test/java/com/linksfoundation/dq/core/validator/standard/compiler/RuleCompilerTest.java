@@ -0,0 +1,310 @@
+package com.linksfoundation.dq.core.validator.standard.compiler;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import com.linksfoundation.dq.core.validator.standard.checker.CachedStringChecker;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.checker.RegexChecker;
+import com.linksfoundation.dq.core.validator.standard.exceptions.RuleBadFormatted;
+import com.linksfoundation.dq.core.validator.standard.exceptions.RuleNotRecognized;
+import com.linksfoundation.dq.core.validator.standard.schema.ConfigYaml;
+import com.linksfoundation.dq.core.validator.standard.schema.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleCompilerTest {
+
+    private final RuleCompiler compiler = new RuleCompiler();
+
+    private static Sample sample() {
+        return Sample.newBuilder()
+                .setTs(1L)
+                .putFloatData("temperature", FloatArray.newBuilder().addElement(10f).addElement(20f).build())
+                .putFloatData("humidity", FloatArray.newBuilder().addElement(Float.NaN).build())
+                .putStringData("status", StringArray.newBuilder().addElement("ON").addElement("OFF").build())
+                .build();
+    }
+
+    private static boolean run(ConfigYaml yaml, RuleCompiler compiler) {
+        Checker checker = compiler.compile(yaml).getCheckers().get(0);
+        return checker.check(sample());
+    }
+
+    private static ConfigYaml config(String name, String feature, Object specs) {
+        return ConfigYaml.builder()
+                .rules(List.of(Rule.builder().name(name).feature(feature).specs(specs).build()))
+                .build();
+    }
+
+    @Test
+    public void testDomain() {
+        assertTrue(run(config("domain", "temperature", Map.of("min", 0, "max", 20)), compiler));
+        assertFalse(run(config("domain", "temperature", Map.of("max", 15)), compiler));
+        assertTrue(run(config("domain", "temperature", Map.of("min", 10)), compiler));
+        assertFalse(run(config("domain", "humidity", Map.of("min", 0)), compiler));
+        assertFalse(run(config("domain", "pressure", Map.of("min", 0)), compiler));
+    }
+
+    @Test
+    public void testStringRules() {
+        assertTrue(run(config("categorical", "status", Map.of("values", List.of("ON", "OFF"))), compiler));
+        assertFalse(run(config("categorical", "status", Map.of("values", List.of("ON"))), compiler));
+        assertTrue(run(config("regex", "status", Map.of("regex", "O(N|FF)")), compiler));
+        assertFalse(run(config("regex", "status", Map.of("regex", "O(N")), compiler));
+        assertTrue(run(config("strlen", "status", Map.of("len", 4, "lenType", "LOWER")), compiler));
+        assertFalse(run(config("strlen", "status", Map.of("len", 2, "lenType", "EXACT")), compiler));
+    }
+
+    @Test
+    public void testRegexCache() {
+        RegexChecker first = (RegexChecker) compiler.compile(config("regex", "status", Map.of("regex", "O(N|FF)"))).getCheckers().get(0);
+        RegexChecker reloaded = (RegexChecker) compiler.compile(config("regex", "status", Map.of("regex", "O(N|FF)"))).getCheckers().get(0);
+        assertSame(first.getPattern(), reloaded.getPattern());
+
+        // a pattern no longer in the configuration is released and compiled again if it comes back
+        compiler.compile(config("regex", "status", Map.of("regex", "ON")));
+        RegexChecker restored = (RegexChecker) compiler.compile(config("regex", "status", Map.of("regex", "O(N|FF)"))).getCheckers().get(0);
+        assertNotSame(first.getPattern(), restored.getPattern());
+
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("regex", "status", Map.of("cache", 10))));
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("regex", "status", null)));
+    }
+
+    @Test
+    public void testTypeRules() {
+        assertTrue(run(config("missing", "temperature", null), compiler));
+        assertFalse(run(config("missing", "humidity", null), compiler));
+        assertTrue(run(config("datatype", "status", Map.of("type", "STRING")), compiler));
+        assertFalse(run(config("datatype", "temperature", Map.of("type", "BOOLEAN")), compiler));
+    }
+
+    @Test
+    public void testEvaluate() {
+        ValidationPlan plan = compiler.compile(ConfigYaml.builder()
+                .rules(List.of(
+                        Rule.builder().name("missing").feature("temperature").build(),
+                        Rule.builder().name("missing").feature("humidity").build(),
+                        Rule.builder().name("domain").feature("temperature").specs(Map.of("min", 0)).build()))
+                .build());
+
+        boolean[] results = new boolean[plan.getCheckers().size()];
+        assertFalse(plan.evaluate(sample(), results));
+        assertArrayEquals(new boolean[]{true, false, true}, results);
+        assertFalse(plan.isValid(sample()));
+    }
+
+    @Test
+    public void testFeatureGroups() {
+        ValidationPlan plan = compiler.compile(ConfigYaml.builder()
+                .rules(List.of(
+                        Rule.builder().name("regex").feature("status").specs(Map.of("regex", "O.*")).build(),
+                        Rule.builder().name("datatype").feature("status").specs(Map.of("type", "STRING")).build(),
+                        Rule.builder().name("domain").feature("temperature").specs(Map.of("max", 15)).build(),
+                        Rule.builder().name("categorical").feature("status").specs(Map.of("values", List.of("ON"))).build(),
+                        Rule.builder().name("strlen").feature("status").specs(Map.of("len", 4, "lenType", "LOWER")).build(),
+                        Rule.builder().name("missing").feature("status").build(),
+                        Rule.builder().name("regex").feature("empty").specs(Map.of("regex", "(")).build()))
+                .build());
+
+        Sample sample = Sample.newBuilder(sample())
+                .putStringData("empty", StringArray.newBuilder().build())
+                .build();
+        boolean[] results = new boolean[plan.getCheckers().size()];
+        assertFalse(plan.evaluate(sample, results));
+        assertArrayEquals(new boolean[]{true, true, false, false, true, false, false}, results);
+    }
+
+    @Test
+    public void testRegexEngines() {
+        Sample sample = Sample.newBuilder()
+                .putStringData("text", StringArray.newBuilder().addElement("a".repeat(28) + "!").build())
+                .build();
+        String pathological = "(.*a){12}";
+
+        Checker backtracking = compiler.compile(config("regex", "text", Map.of("regex", pathological, "budget", 10000)))
+                .getCheckers().get(0);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertFalse(backtracking.check(sample)));
+        assertEquals(1, ((RegexChecker) backtracking).getExceeded().sum());
+
+        Checker linear = compiler.compile(config("regex", "text", Map.of("regex", pathological, "engine", "LINEAR")))
+                .getCheckers().get(0);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertFalse(linear.check(sample)));
+        assertTrue(linear.check(Sample.newBuilder()
+                .putStringData("text", StringArray.newBuilder().addElement("a".repeat(12)).build())
+                .build()));
+
+        assertFalse(run(config("regex", "status", Map.of("regex", "(O)\\1", "engine", "LINEAR")), compiler));
+    }
+
+    private static Sample reading(long ts, float value) {
+        return Sample.newBuilder()
+                .setTs(ts)
+                .setKey("sensor-1")
+                .putFloatData("temperature", FloatArray.newBuilder().addElement(value).build())
+                .build();
+    }
+
+    @Test
+    public void testStatefulRules() {
+        ConfigYaml yaml = ConfigYaml.builder()
+                .rules(List.of(
+                        Rule.builder().name("zscore").feature("temperature").specs(Map.of("window", 20, "threshold", 4, "minSamples", 5)).build(),
+                        Rule.builder().name("rate").feature("temperature").specs(Map.of("max", 10)).build(),
+                        Rule.builder().name("monotonic").feature("ts").specs(Map.of("strict", true)).build()))
+                .build();
+        ValidationPlan plan = compiler.compile(yaml);
+        boolean[] results = new boolean[3];
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(plan.evaluate(reading(1000L * i, 20f + (i % 2)), results));
+        }
+
+        assertFalse(plan.evaluate(reading(10_000, 40f), results));
+        assertArrayEquals(new boolean[]{false, false, true}, results);
+
+        assertFalse(plan.evaluate(reading(10_000, 40.5f), results));
+        assertArrayEquals(new boolean[]{true, true, false}, results);
+
+        ValidationPlan reloaded = compiler.compile(yaml);
+        assertFalse(reloaded.isValid(reading(9_000, 40.5f)));
+        assertTrue(reloaded.evaluate(reading(11_000, 41f), results));
+
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("zscore", "temperature", Map.of("idleTimeout", 0))));
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("rate", "temperature", Map.of("max", 10, "idleTimeout", -1))));
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("monotonic", "ts", Map.of("idleTimeout", 0))));
+    }
+
+    @Test
+    public void testDuplicate() {
+        ValidationPlan plan = compiler.compile(config("duplicate", "sample", Map.of("drop", true)));
+        Checker checker = plan.getCheckers().get(0);
+
+        assertTrue(checker.check(reading(1000, 20f)));
+        assertFalse(checker.check(reading(2000, 20f)));
+        assertTrue(checker.check(reading(2000, 21f)));
+        assertTrue(plan.isDropping());
+        assertTrue(plan.drops("duplicate", "sample"));
+
+        Checker reloaded = compiler.compile(config("duplicate", "sample", Map.of("drop", true))).getCheckers().get(0);
+        assertFalse(reloaded.check(reading(3000, 21f)));
+
+        Checker withTs = compiler.compile(config("duplicate", "sample", Map.of("includeTs", true))).getCheckers().get(0);
+        assertTrue(withTs.check(reading(1000, 20f)));
+        assertTrue(withTs.check(reading(2000, 20f)));
+        assertFalse(withTs.check(reading(2000, 20f)));
+
+        ValidationPlan withoutFeature = compiler.compile(config("duplicate", null, Map.of("drop", true)));
+        assertEquals("duplicate", withoutFeature.getCheckers().get(0).getFeature());
+        assertTrue(withoutFeature.drops("duplicate", "duplicate"));
+    }
+
+    @Test
+    public void testExpression() {
+        assertTrue(run(config("expression", null, Map.of("expression", "temperature >= 10 && temperature <= 2 * 10")), compiler));
+        assertTrue(run(config("expression", null, Map.of("expression", "!(temperature < 5) || temperature > 100")), compiler));
+        assertTrue(run(config("expression", null, Map.of("expression", "max(temperature, 15) - min(15, temperature) <= abs(-5)")), compiler));
+        assertFalse(run(config("expression", null, Map.of("expression", "temperature * 1.5 < 20")), compiler));
+        assertFalse(run(config("expression", null, Map.of("expression", "humidity >= 0 || humidity < 0")), compiler));
+        assertFalse(run(config("expression", null, Map.of("expression", "pressure > 0 || temperature > 0")), compiler));
+        assertEquals("temperature > 0", compiler.compile(config("expression", null, Map.of("expression", "temperature > 0")))
+                .getCheckers().get(0).getFeature());
+
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("expression", null, Map.of("expression", "temperature + 1"))));
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("expression", null, Map.of("expression", "(temperature > 1"))));
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("expression", null, Map.of("expression", "log(temperature) > 1"))));
+    }
+
+    @Test
+    public void testDatasets() {
+        Rule monotonic = Rule.builder().name("monotonic").feature("ts").specs(Map.of("strict", true)).build();
+        ConfigYaml yaml = ConfigYaml.builder()
+                .rules(List.of(Rule.builder().name("domain").feature("temperature").specs(Map.of("max", 15)).build()))
+                .datasets(Map.of(
+                        "plant-1", List.of(monotonic),
+                        "plant-*", List.of(monotonic, Rule.builder().name("missing").feature("temperature").build())))
+                .build();
+        DatasetPlans plans = compiler.compileDatasets(yaml);
+
+        assertEquals("plant-1", plans.get("plant-1").getDataset());
+        assertEquals("plant-*", plans.get("plant-2").getDataset());
+        assertSame(plans.get("plant-2"), plans.get("plant-3"));
+        assertEquals(DatasetPlans.DEFAULT_DATASET, plans.get("plant").getDataset());
+        assertEquals(List.of("domain"), plans.get("").getCheckers().stream().map(Checker::getType).toList());
+        assertEquals(3, plans.getPlans().size());
+
+        assertTrue(plans.get("plant-1").isValid(reading(2000, 20f)));
+        assertTrue(plans.get("plant-2").isValid(reading(1000, 20f)));
+        assertFalse(plans.get("plant-1").isValid(reading(1000, 20f)));
+
+        DatasetPlans reloaded = compiler.compileDatasets(yaml);
+        assertFalse(reloaded.get("plant-2").isValid(reading(1000, 20f)));
+    }
+
+    @Test
+    public void testSchema() {
+        Map<String, Object> features = Map.of("temperature", "FLOAT", "humidity", "FLOAT", "status", "STRING");
+        assertTrue(run(config("schema", null, Map.of("features", features)), compiler));
+        assertTrue(run(config("schema", null, Map.of("features", Map.of("temperature", "FLOAT"), "unexpected", true)), compiler));
+        assertTrue(run(config("schema", null, Map.of(
+                "features", Map.of("temperature", "FLOAT", "humidity", "FLOAT", "status", "STRING", "on", "BOOLEAN"),
+                "missing", List.of("on"))), compiler));
+        assertFalse(run(config("schema", null, Map.of("features", Map.of("temperature", "FLOAT", "humidity", "FLOAT"))), compiler));
+
+        Checker checker = compiler.compile(config("schema", null, Map.of(
+                "features", Map.of("temperature", "FLOAT", "status", "BOOLEAN", "on", "BOOLEAN")))).getCheckers().get(0);
+        assertFalse(checker.check(sample()));
+        assertEquals(List.of("missing on", "unexpected humidity", "wrong type status"),
+                Arrays.stream(checker.describe(sample()).split(", ")).sorted().toList());
+        assertEquals("schema", checker.getFeature());
+
+        assertThrows(RuleBadFormatted.class, () -> compiler.compile(config("schema", null, null)));
+    }
+
+    @Test
+    public void testCache() {
+        Checker checker = compiler.compile(config("regex", "status", Map.of("regex", "O(N|FF)", "cache", 4))).getCheckers().get(0);
+        CachedStringChecker cached = assertInstanceOf(CachedStringChecker.class, checker);
+        assertEquals("regex", cached.getType());
+        assertEquals(4, cached.getCapacity());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(checker.check(sample()));
+            assertFalse(cached.test("ONE"));
+        }
+        assertEquals(3, cached.getMisses().sum());
+        assertEquals(27, cached.getHits().sum());
+
+        assertFalse(compiler.compile(config("categorical", "status", Map.of("values", List.of("ON"), "cache", 16))).getCheckers().get(0).check(sample()));
+        assertFalse(compiler.compile(config("regex", "status", Map.of("regex", "O(N", "cache", 4))).getCheckers().get(0) instanceof CachedStringChecker);
+    }
+
+    @Test
+    public void testFailFast() {
+        ValidationPlan plan = compiler.compile(ConfigYaml.builder()
+                .rules(List.of(
+                        Rule.builder().name("domain").feature("temperature").specs(Map.of("min", 0)).build(),
+                        Rule.builder().name("categorical").feature("status").specs(Map.of("values", List.of("ON", "OFF"))).build(),
+                        Rule.builder().name("domain").feature("humidity").specs(Map.of("min", 0)).build(),
+                        Rule.builder().name("monotonic").feature("ts").build()))
+                .build());
+
+        assertArrayEquals(new int[]{0, 1, 2}, plan.failFastOrder());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(2, plan.firstFailure(sample()));
+        }
+        assertEquals(2, plan.failFastOrder()[0]);
+        assertEquals(3, plan.firstFailure(Sample.newBuilder(sample()).setTs(0).build()));
+    }
+
+    @Test
+    public void testRuleNotRecognized() {
+        assertThrows(RuleNotRecognized.class, () -> compiler.compile(config("unknown", "status", null)));
+    }
+}
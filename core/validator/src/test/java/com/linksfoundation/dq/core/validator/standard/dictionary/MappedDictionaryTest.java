@@ -0,0 +1,53 @@
+package com.linksfoundation.dq.core.validator.standard.dictionary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedDictionaryTest {
+
+    @Test
+    public void testContains(@TempDir Path dir) throws IOException {
+        Path source = dir.resolve("codes.txt");
+        List<String> values = IntStream.range(0, 10_000).mapToObj("CODE-%05d"::formatted).toList();
+        Files.write(source, values);
+        Files.writeString(source, "citt\u00e0\r\n\u6771\u4eac\n\n", StandardOpenOption.APPEND);
+
+        for (double fpp : new double[]{0.01, 0}) {
+            MappedDictionary dictionary = MappedDictionary.open(source, dir.resolve("index"), fpp);
+            assertEquals(10_002, dictionary.getSize());
+            assertTrue(values.stream().allMatch(dictionary::contains));
+            assertTrue(dictionary.contains("citt\u00e0"));
+            assertTrue(dictionary.contains("\u6771\u4eac"));
+            assertFalse(dictionary.contains(""));
+            assertFalse(dictionary.contains("CODE-10000"));
+            assertFalse(dictionary.contains("citta"));
+            assertFalse(dictionary.contains("\u6771"));
+            assertSame(dictionary, MappedDictionary.open(source, dir.resolve("index"), fpp));
+        }
+
+        MappedDictionary original = MappedDictionary.open(source, dir.resolve("index"), 0.01);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 1000));
+        assertSame(original, MappedDictionary.open(source, dir.resolve("index"), 0.01));
+
+        Files.writeString(source, "other\n");
+        MappedDictionary changed = MappedDictionary.open(source, dir.resolve("index"), 0.01);
+        assertTrue(changed.contains("other"));
+        assertFalse(changed.contains("CODE-00000"));
+        assertFalse(Files.exists(original.getIndex()));
+        assertTrue(original.contains("CODE-00000"));
+        try (Stream<Path> indexes = Files.list(dir.resolve("index"))) {
+            assertEquals(2, indexes.count());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.linksfoundation.dq.core.validator.standard.metrics;
+
+import com.linksfoundation.dq.api.model.FloatArray;
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.compiler.DatasetPlans;
+import com.linksfoundation.dq.core.validator.standard.compiler.RuleCompiler;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import com.linksfoundation.dq.core.validator.standard.schema.ConfigYaml;
+import com.linksfoundation.dq.core.validator.standard.schema.Rule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleProfilerTest {
+
+    private static DatasetPlans plans(String name) {
+        return new RuleCompiler().compileDatasets(ConfigYaml.builder()
+                .name(name)
+                .rules(List.of(
+                        Rule.builder().name("domain").feature("temperature").specs(Map.of("max", 15)).build(),
+                        Rule.builder().name("missing").feature("temperature").build()))
+                .datasets(Map.of("line-*", List.of(Rule.builder().name("missing").feature("temperature").build())))
+                .build());
+    }
+
+    @Test
+    public void testEvaluate() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Sample sample = Sample.newBuilder()
+                .putFloatData("temperature", FloatArray.newBuilder().addElement(10f).addElement(20f).build())
+                .build();
+
+        try (RuleProfiler profiler = new RuleProfiler(registry, 0.5, 5)) {
+            DatasetPlans plans = plans("test");
+            ValidationPlan plan = plans.get("plant");
+            boolean[] results = new boolean[2];
+            for (int i = 0; i < 4; i++) {
+                assertFalse(profiler.evaluate(plans, plan, sample, results));
+                assertArrayEquals(new boolean[]{false, true}, results);
+            }
+
+            assertEquals(4, registry.get("dq.rule.result").tags("dataset", "default", "index", "0", "result", "fail").counter().count());
+            assertEquals(0, registry.get("dq.rule.result").tags("dataset", "line-*", "index", "0", "result", "pass").counter().count());
+            assertEquals(4, registry.get("dq.rule.result").tags("index", "1", "result", "pass").counter().count());
+            assertEquals(2, registry.get("dq.rule.duration").tags("rule", "domain").timer().count());
+            assertEquals(4, registry.get("dq.rule.values").tags("rule", "missing").counter().count());
+            profiler.report();
+
+            DatasetPlans reloaded = plans("reloaded");
+            profiler.evaluate(reloaded, reloaded.get("plant"), sample, results);
+            profiler.evaluate(plans, plan, sample, results);
+            assertTrue(registry.find("dq.rule.result").tags("validator", "test").meters().isEmpty());
+            assertEquals(1, registry.get("dq.rule.result").tags("validator", "reloaded", "index", "0", "result", "fail").counter().count());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.linksfoundation.dq.core.validator.standard.reference;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.api.model.StringArray;
+import com.linksfoundation.dq.core.validator.standard.checker.Checker;
+import com.linksfoundation.dq.core.validator.standard.checker.ScalarFloatKernel;
+import com.linksfoundation.dq.core.validator.standard.compiler.DatasetPlans;
+import com.linksfoundation.dq.core.validator.standard.compiler.RuleCompiler;
+import com.linksfoundation.dq.core.validator.standard.exceptions.RuleBadFormatted;
+import com.linksfoundation.dq.core.validator.standard.schema.ConfigYaml;
+import com.linksfoundation.dq.core.validator.standard.schema.Rule;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReferenceSetsTest {
+
+    private static Sample sample(String... codes) {
+        return Sample.newBuilder()
+                .putStringData("equipment", StringArray.newBuilder().addAllElement(List.of(codes)).build())
+                .build();
+    }
+
+    @Test
+    public void testFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("equipment.txt");
+        Files.writeString(file, "EQ-1\nEQ-2\n\n");
+
+        try (ReferenceSets references = new ReferenceSets(null)) {
+            RuleCompiler compiler = new RuleCompiler(new ScalarFloatKernel(), dir, references);
+            Checker checker = compiler.compile(ConfigYaml.builder()
+                    .rules(List.of(Rule.builder().name("reference").feature("equipment").specs(Map.of("file", file.toString(), "refresh", 0)).build()))
+                    .build()).getCheckers().get(0);
+            assertTrue(checker.check(sample("EQ-1", "EQ-2")));
+            assertFalse(checker.check(sample("EQ-1", "EQ-3")));
+
+            FileReferenceSet set = (FileReferenceSet) references.file(file, 0);
+            assertEquals(2, set.size());
+            assertFalse(set.reload());
+            Files.writeString(file, "EQ-1\nEQ-3\n");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+            assertTrue(set.reload());
+            assertTrue(checker.check(sample("EQ-1", "EQ-3")));
+
+            assertThrows(RuleBadFormatted.class, () -> compiler.compile(ConfigYaml.builder()
+                    .rules(List.of(Rule.builder().name("reference").feature("equipment").specs(Map.of("topic", "equipment")).build()))
+                    .build()));
+        }
+    }
+
+    @Test
+    public void testTopic() throws Exception {
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition partition = new TopicPartition("equipment", 0);
+        consumer.updatePartitions("equipment", List.of(new PartitionInfo("equipment", 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.updateEndOffsets(Map.of(partition, 2L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>("equipment", 0, 0, "EQ-1", new byte[]{1}));
+            consumer.addRecord(new ConsumerRecord<>("equipment", 0, 1, "EQ-2", new byte[]{1}));
+        });
+
+        try (ReferenceSets references = new ReferenceSets(() -> consumer)) {
+            ReferenceSet set = references.topic("equipment", 5000);
+            assertTrue(set.contains("EQ-1"));
+            assertTrue(set.contains("EQ-2"));
+            assertSame(set, references.topic("equipment", 5000));
+
+            consumer.schedulePollTask(() -> consumer.addRecord(new ConsumerRecord<>("equipment", 0, 2, "EQ-1", null)));
+            for (int i = 0; i < 100 && set.contains("EQ-1"); i++) {
+                Thread.sleep(50);
+            }
+            assertFalse(set.contains("EQ-1"));
+            assertEquals(1, set.size());
+        }
+    }
+
+    @Test
+    public void testRelease(@TempDir Path dir) throws Exception {
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition partition = new TopicPartition("equipment", 0);
+        consumer.updatePartitions("equipment", List.of(new PartitionInfo("equipment", 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.updateEndOffsets(Map.of(partition, 0L));
+
+        try (ReferenceSets references = new ReferenceSets(() -> consumer)) {
+            RuleCompiler compiler = new RuleCompiler(new ScalarFloatKernel(), dir, references);
+            ConfigYaml reference = ConfigYaml.builder()
+                    .rules(List.of(Rule.builder().name("reference").feature("equipment").specs(Map.of("topic", "equipment")).build()))
+                    .build();
+
+            DatasetPlans first = compiler.compileDatasets(reference);
+            DatasetPlans second = compiler.compileDatasets(reference);
+            compiler.release(first);
+            assertFalse(consumer.closed());
+
+            compiler.compileDatasets(ConfigYaml.builder().rules(List.of()).build());
+            compiler.release(second);
+            for (int i = 0; i < 100 && !consumer.closed(); i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(consumer.closed());
+        }
+    }
+
+    @Test
+    public void testMissingTopic(@TempDir Path dir) {
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+        try (ReferenceSets references = new ReferenceSets(() -> consumer)) {
+            RuleCompiler compiler = new RuleCompiler(new ScalarFloatKernel(), dir, references);
+            assertThrows(RuleBadFormatted.class, () -> compiler.compileDatasets(ConfigYaml.builder()
+                    .rules(List.of(Rule.builder().name("reference").feature("equipment").specs(Map.of("topic", "missing", "timeout", 60000)).build()))
+                    .build()));
+            assertTrue(consumer.closed());
+        }
+    }
+}
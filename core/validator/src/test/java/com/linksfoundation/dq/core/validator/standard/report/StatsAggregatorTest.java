@@ -0,0 +1,55 @@
+package com.linksfoundation.dq.core.validator.standard.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linksfoundation.dq.core.validator.standard.compiler.RuleCompiler;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import com.linksfoundation.dq.core.validator.standard.schema.ConfigYaml;
+import com.linksfoundation.dq.core.validator.standard.schema.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatsAggregatorTest {
+
+    @Test
+    public void testWindow() throws IOException {
+        ValidationPlan plan = new RuleCompiler().compile(ConfigYaml.builder()
+                .name("test")
+                .rules(List.of(
+                        Rule.builder().name("domain").feature("temperature").specs(Map.of("max", 15)).build(),
+                        Rule.builder().name("missing").feature("temperature").build()))
+                .build());
+        AtomicReference<String> name = new AtomicReference<>("test");
+        List<byte[]> emitted = new ArrayList<>();
+        StatsAggregator aggregator = new StatsAggregator(name::get, 60000, (validator, stats) -> emitted.add(stats));
+
+        aggregator.record("plant-1", plan, new boolean[]{true, true});
+        aggregator.record("plant-1", plan, new boolean[]{false, true});
+        aggregator.record("plant-2", plan, new boolean[]{false, false});
+        name.set("renamed");
+        aggregator.roll();
+        aggregator.roll();
+
+        assertEquals(1, emitted.size());
+        ValidationStats stats = new ObjectMapper().readValue(emitted.get(0), ValidationStats.class);
+        assertEquals("renamed", stats.getValidator());
+        assertEquals(60000, stats.getEnd() - stats.getStart());
+
+        ValidationStats.Dataset plant1 = stats.getDatasets().stream().filter(d -> d.getDataset().equals("plant-1")).findFirst().orElseThrow();
+        assertEquals(2, plant1.getSamples());
+        assertEquals(1, plant1.getFailed());
+
+        ValidationStats.Outcome domain = stats.getOutcomes().stream()
+                .filter(o -> o.getDataset().equals("plant-1") && o.getRule().equals("domain"))
+                .findFirst().orElseThrow();
+        assertEquals(1, domain.getValid());
+        assertEquals(1, domain.getFail());
+        assertEquals(4, stats.getOutcomes().size());
+    }
+}
@@ -0,0 +1,57 @@
+package com.linksfoundation.dq.core.validator.standard.report;
+
+import com.linksfoundation.dq.core.validator.standard.compiler.RuleCompiler;
+import com.linksfoundation.dq.core.validator.standard.compiler.ValidationPlan;
+import com.linksfoundation.dq.core.validator.standard.schema.ConfigYaml;
+import com.linksfoundation.dq.core.validator.standard.schema.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SummaryReporterTest {
+
+    private static ValidationPlan plan(int size) {
+        List<Rule> rules = Collections.nCopies(size, Rule.builder().name("domain").feature("temperature").specs(Map.of("max", 15)).build());
+        return new RuleCompiler().compile(ConfigYaml.builder().name("test").rules(rules).build());
+    }
+
+    @Test
+    public void testSummary() {
+        SummaryReporter reporter = new SummaryReporter(1000);
+        ValidationPlan plan = plan(10);
+        boolean[] results = new boolean[10];
+        Arrays.fill(results, true);
+        results[1] = false;
+        results[9] = false;
+
+        SummaryReport report = reporter.parse(reporter.summary(plan, results));
+        assertEquals(plan.getId(), report.getPlan());
+        assertEquals(10, report.getRules());
+        assertArrayEquals(new byte[]{2, 2}, Base64.getDecoder().decode(report.getBitmap()));
+        assertEquals(List.of(1, 9), report.getFailures().stream().map(SummaryReport.Failure::getId).toList());
+        assertEquals("domain", report.getFailures().get(0).getRule());
+        assertEquals(plan.getId(), plan(10).getId());
+        assertNotEquals(plan.getId(), plan(9).getId());
+    }
+
+    @Test
+    public void testDictionary() {
+        SummaryReporter reporter = new SummaryReporter(1000);
+        ValidationPlan plan = plan(3);
+
+        assertNotNull(reporter.dictionary(plan, 0));
+        assertNull(reporter.dictionary(plan, 999));
+        assertNotNull(reporter.dictionary(plan, 1000));
+        assertNotNull(reporter.dictionary(plan(2), 1000));
+
+        SummaryReporter once = new SummaryReporter(0);
+        assertNotNull(once.dictionary(plan, 0));
+        assertNull(once.dictionary(plan, 1_000_000));
+    }
+}
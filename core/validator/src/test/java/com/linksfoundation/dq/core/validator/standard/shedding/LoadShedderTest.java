@@ -0,0 +1,62 @@
+package com.linksfoundation.dq.core.validator.standard.shedding;
+
+import com.linksfoundation.dq.api.model.Sample;
+import com.linksfoundation.dq.core.validator.standard.compiler.DatasetPlans;
+import com.linksfoundation.dq.core.validator.standard.compiler.RuleCompiler;
+import com.linksfoundation.dq.core.validator.standard.schema.ConfigYaml;
+import com.linksfoundation.dq.core.validator.standard.schema.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadShedderTest {
+
+    private static Sample sample(long ts) {
+        return Sample.newBuilder().setTs(ts).setDataset("line").build();
+    }
+
+    @Test
+    public void testSampleMode() {
+        LoadShedder shedder = new LoadShedder(LoadShedder.Mode.SAMPLE, 1000, 100, 0.25, Set.of());
+        long now = 1_000_000;
+
+        assertEquals(LoadShedder.Decision.FULL, shedder.decide(sample(now), now));
+        for (int i = 0; i < 200 && !shedder.isOverloaded(); i++) {
+            shedder.decide(sample(now - 60_000), now);
+        }
+        assertTrue(shedder.isOverloaded());
+
+        int full = 0;
+        for (int i = 0; i < 100; i++) {
+            if (shedder.decide(sample(now - 60_000), now) == LoadShedder.Decision.FULL) {
+                full++;
+            }
+        }
+        assertEquals(25, full);
+
+        for (int i = 0; i < 500 && shedder.isOverloaded(); i++) {
+            shedder.decide(sample(now), now);
+        }
+        assertFalse(shedder.isOverloaded());
+        assertEquals(LoadShedder.Decision.FULL, shedder.decide(sample(now), now));
+    }
+
+    @Test
+    public void testCheapPlan() {
+        DatasetPlans plans = new RuleCompiler().compileDatasets(ConfigYaml.builder()
+                .rules(List.of(
+                        Rule.builder().name("domain").feature("temperature").specs(Map.of("max", 15)).build(),
+                        Rule.builder().name("regex").feature("status").specs(Map.of("regex", "O.*")).build(),
+                        Rule.builder().name("monotonic").feature("ts").build()))
+                .build());
+        LoadShedder shedder = new LoadShedder(LoadShedder.Mode.CHEAP, 1000, 100, 0.1, Set.of("domain"));
+
+        DatasetPlans cheap = shedder.cheap(plans);
+        assertEquals(List.of("domain", "monotonic"), cheap.get("line").getCheckers().stream().map(c -> c.getType()).toList());
+        assertSame(cheap, shedder.cheap(plans));
+    }
+}
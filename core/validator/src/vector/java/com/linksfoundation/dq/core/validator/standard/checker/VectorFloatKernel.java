@@ -0,0 +1,89 @@
+package com.linksfoundation.dq.core.validator.standard.checker;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * FloatKernel that compares the values with the SIMD instructions of the JDK Vector API (jdk.incubator.vector).
+ * The values are compared one vector at a time; the tail of the buffer and the buffers shorter than {@link #MIN_LENGTH}
+ * are handled by the ScalarFloatKernel.
+ *
+ * This class must only be loaded through {@link FloatKernels}, which falls back to the scalar kernel when the module is not available.
+*/
+class VectorFloatKernel implements FloatKernel {
+
+    static final int MIN_LENGTH = 64;
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private final ScalarFloatKernel scalar = new ScalarFloatKernel();
+
+    @Override
+    public boolean allInRange(float[] values, int length, float min, float max) {
+        if (length < MIN_LENGTH) {
+            return scalar.allInRange(values, length, min, max);
+        }
+
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            FloatVector vector = FloatVector.fromArray(SPECIES, values, i);
+            VectorMask<Float> valid = vector.compare(VectorOperators.GE, min).and(vector.compare(VectorOperators.LE, max));
+            if (!valid.allTrue()) {
+                return false;
+            }
+        }
+
+        for (; i < length; i++) {
+            if (!(values[i] >= min && values[i] <= max)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean noneNaN(float[] values, int length) {
+        if (length < MIN_LENGTH) {
+            return scalar.noneNaN(values, length);
+        }
+
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            if (FloatVector.fromArray(SPECIES, values, i).test(VectorOperators.IS_NAN).anyTrue()) {
+                return false;
+            }
+        }
+
+        for (; i < length; i++) {
+            if (Float.isNaN(values[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean allFinite(float[] values, int length) {
+        if (length < MIN_LENGTH) {
+            return scalar.allFinite(values, length);
+        }
+
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            if (!FloatVector.fromArray(SPECIES, values, i).test(VectorOperators.IS_FINITE).allTrue()) {
+                return false;
+            }
+        }
+
+        for (; i < length; i++) {
+            if (!Float.isFinite(values[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}